@@ -0,0 +1,232 @@
+// Load scenario covering the post, tag, category and user endpoints against a seeded database
+// (see seed.sql). Reports throughput and p50/p99 latency per endpoint.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 load-test/endpoints.js
+//
+// Environment:
+//   BASE_URL        application URL (default http://localhost:8080)
+//   USERS, TAGS,
+//   CATEGORIES      sizes of the seeded ranges, matching seed.sql (defaults 100000, 2000, 50)
+//   PASSWORD        password of the seeded users (default loadtest)
+//   RATE            read requests per second (default 200); writes run at a tenth of it
+//   DURATION        steady-state duration (default 2m)
+//   UNBOUNDED=true  also hit GET /api/users and GET /api/posts/export, which return every row
+import http from 'k6/http';
+import { check, group } from 'k6';
+import { SharedArray } from 'k6/data';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USERS = parseInt(__ENV.USERS || '100000');
+const TAGS = parseInt(__ENV.TAGS || '2000');
+const CATEGORIES = parseInt(__ENV.CATEGORIES || '50');
+const PASSWORD = __ENV.PASSWORD || 'loadtest';
+const RATE = parseInt(__ENV.RATE || '200');
+const DURATION = __ENV.DURATION || '2m';
+const UNBOUNDED = __ENV.UNBOUNDED === 'true';
+
+const SEARCH_TERMS = new SharedArray('terms', () => ['lorem', 'ipsum', 'dolor', 'consectetur', 'adipiscing']);
+
+// Request names used as the `name` tag; k6 only aggregates a sub-metric that has a threshold
+const ENDPOINTS = [
+    'GET /api/posts', 'GET /api/posts?cursor', 'GET /api/posts/{id}', 'GET /api/posts/summary',
+    'GET /api/posts/author/{authorId}', 'GET /api/posts/author/{authorId}/summary',
+    'GET /api/posts/status/{status}', 'GET /api/posts/status/{status}/summary', 'GET /api/posts/search',
+    'GET /api/posts/feed', 'GET /api/posts/category/{categoryId}', 'GET /api/posts/tag/{tagId}',
+    'GET /api/posts/export', 'POST /api/posts', 'POST /api/posts/bulk', 'PUT /api/posts/{id}',
+    'POST /api/posts/{id}/publish', 'DELETE /api/posts/{id}',
+    'GET /api/tags', 'GET /api/tags/{id}', 'GET /api/tags/name/{name}',
+    'POST /api/tags', 'PUT /api/tags/{id}', 'DELETE /api/tags/{id}',
+    'GET /api/categories', 'GET /api/categories/{id}', 'GET /api/categories/name/{name}',
+    'POST /api/categories', 'PUT /api/categories/{id}', 'DELETE /api/categories/{id}',
+    'GET /api/users', 'GET /api/users/{id}', 'GET /api/users/username/{username}',
+    'POST /api/users', 'PUT /api/users/{id}', 'DELETE /api/users/{id}',
+];
+
+export const options = {
+    summaryTrendStats: ['avg', 'p(50)', 'p(90)', 'p(99)', 'max', 'count'],
+    thresholds: Object.assign({
+        'http_req_duration{scenario:reads}': ['p(99)<1000'],
+        'http_req_duration{scenario:writes}': ['p(99)<2000'],
+        'http_req_failed': ['rate<0.01'],
+    }, Object.fromEntries(ENDPOINTS.map((name) => [`http_req_duration{name:${name}}`, ['max>=0']]))),
+    scenarios: {
+        reads: {
+            executor: 'constant-arrival-rate',
+            exec: 'reads',
+            rate: RATE,
+            timeUnit: '1s',
+            duration: DURATION,
+            preAllocatedVUs: 100,
+            maxVUs: 1000,
+        },
+        writes: {
+            executor: 'constant-arrival-rate',
+            exec: 'writes',
+            rate: Math.max(1, Math.floor(RATE / 10)),
+            timeUnit: '1s',
+            duration: DURATION,
+            preAllocatedVUs: 50,
+            maxVUs: 500,
+        },
+    },
+};
+
+function pick(max) {
+    return 1 + Math.floor(Math.random() * max);
+}
+
+function get(name, path, params = {}) {
+    const res = http.get(`${BASE_URL}${path}`, Object.assign({ tags: { name } }, params));
+    check(res, { [`${name} ok`]: (r) => r.status === 200 || r.status === 304 });
+    return res;
+}
+
+function json(auth) {
+    return { 'Content-Type': 'application/json', Authorization: `Bearer ${auth.token}` };
+}
+
+export function setup() {
+    // Seeded users are named after their ID; author IDs are drawn from USERNAME's ID onwards
+    const login = http.post(`${BASE_URL}/api/auth/login`,
+        JSON.stringify({ username: __ENV.USERNAME || 'seed_user_1', password: PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' } });
+    check(login, { 'logged in': (r) => r.status === 200 });
+    const me = http.get(`${BASE_URL}/api/users/username/${__ENV.USERNAME || 'seed_user_1'}`,
+        { headers: { Authorization: `Bearer ${login.json('accessToken')}` } });
+    return { token: login.json('accessToken'), userId: me.json('id') };
+}
+
+export function reads(auth) {
+    const headers = { Authorization: `Bearer ${auth.token}` };
+    group('posts', () => {
+        const page = get('GET /api/posts', '/api/posts?size=20');
+        const cursor = page.status === 200 ? page.json('nextCursor') : null;
+        if (cursor) {
+            get('GET /api/posts?cursor', `/api/posts?size=20&cursor=${cursor}`);
+        }
+        const items = page.status === 200 ? page.json('items') : [];
+        if (items.length > 0) {
+            get('GET /api/posts/{id}', `/api/posts/${items[pick(items.length) - 1].id}`);
+        }
+        get('GET /api/posts/summary', '/api/posts/summary?size=20');
+        get('GET /api/posts/feed', '/api/posts/feed?size=20');
+        get('GET /api/posts/author/{authorId}', `/api/posts/author/${auth.userId + pick(USERS) - 1}?size=20`);
+        get('GET /api/posts/author/{authorId}/summary', `/api/posts/author/${auth.userId + pick(USERS) - 1}/summary`);
+        get('GET /api/posts/status/{status}', '/api/posts/status/PUBLISHED?size=20');
+        get('GET /api/posts/status/{status}/summary', '/api/posts/status/DRAFT/summary?size=20');
+        get('GET /api/posts/search', `/api/posts/search?q=${SEARCH_TERMS[pick(SEARCH_TERMS.length) - 1]}&size=20`);
+    });
+    group('tags', () => {
+        const tags = get('GET /api/tags', '/api/tags');
+        const list = tags.status === 200 ? tags.json() : [];
+        if (list.length > 0) {
+            const tag = list[pick(Math.min(list.length, TAGS)) - 1];
+            get('GET /api/tags/{id}', `/api/tags/${tag.id}`);
+            get('GET /api/tags/name/{name}', `/api/tags/name/${encodeURIComponent(tag.name)}`);
+            get('GET /api/posts/tag/{tagId}', `/api/posts/tag/${tag.id}?size=20`);
+        }
+    });
+    group('categories', () => {
+        const categories = get('GET /api/categories', '/api/categories');
+        const list = categories.status === 200 ? categories.json() : [];
+        if (list.length > 0) {
+            const category = list[pick(Math.min(list.length, CATEGORIES)) - 1];
+            get('GET /api/categories/{id}', `/api/categories/${category.id}`);
+            get('GET /api/categories/name/{name}', `/api/categories/name/${encodeURIComponent(category.name)}`);
+            get('GET /api/posts/category/{categoryId}', `/api/posts/category/${category.id}?size=20`);
+        }
+    });
+    group('users', () => {
+        const id = auth.userId + pick(USERS) - 1;
+        get('GET /api/users/{id}', `/api/users/${id}`, { headers });
+        get('GET /api/users/username/{username}', `/api/users/username/seed_user_${id}`, { headers });
+        if (UNBOUNDED) {
+            get('GET /api/users', '/api/users', { headers, timeout: '10m' });
+            get('GET /api/posts/export', '/api/posts/export', { headers, timeout: '30m' });
+        }
+    });
+}
+
+export function writes(auth) {
+    const headers = json(auth);
+    const suffix = `${__VU}-${__ITER}-${Date.now()}`;
+
+    // Post lifecycle: create, update, publish, delete
+    const created = http.post(`${BASE_URL}/api/posts`, JSON.stringify({
+        title: `Load test post ${suffix}`,
+        content: 'Written by the endpoint load test.',
+        authorId: auth.userId,
+        status: 'DRAFT',
+    }), { headers, tags: { name: 'POST /api/posts' } });
+    check(created, { 'POST /api/posts ok': (r) => r.status === 201 });
+    if (created.status === 201) {
+        const id = created.json('id');
+        const updated = http.put(`${BASE_URL}/api/posts/${id}`, JSON.stringify({ title: `Updated ${suffix}` }),
+            { headers, tags: { name: 'PUT /api/posts/{id}' } });
+        check(updated, { 'PUT /api/posts/{id} ok': (r) => r.status === 200 });
+        const published = http.post(`${BASE_URL}/api/posts/${id}/publish`, null,
+            { headers, tags: { name: 'POST /api/posts/{id}/publish' } });
+        check(published, { 'POST /api/posts/{id}/publish ok': (r) => r.status === 200 });
+        const deleted = http.del(`${BASE_URL}/api/posts/${id}`, null,
+            { headers, tags: { name: 'DELETE /api/posts/{id}' } });
+        check(deleted, { 'DELETE /api/posts/{id} ok': (r) => r.status === 204 });
+    }
+
+    const bulk = http.post(`${BASE_URL}/api/posts/bulk`, JSON.stringify({
+        posts: [1, 2, 3, 4, 5].map((n) => ({
+            title: `Bulk ${suffix}-${n}`, content: 'Bulk load test post.', authorId: auth.userId, status: 'DRAFT',
+        })),
+    }), { headers, tags: { name: 'POST /api/posts/bulk' } });
+    check(bulk, { 'POST /api/posts/bulk ok': (r) => r.status === 201 });
+
+    // Tag and category lifecycle
+    for (const [resource, field] of [['tags', 'tag'], ['categories', 'category']]) {
+        const res = http.post(`${BASE_URL}/api/${resource}`,
+            JSON.stringify({ name: `lt-${field}-${suffix}`, description: 'Load test' }),
+            { headers, tags: { name: `POST /api/${resource}` } });
+        check(res, { [`POST /api/${resource} ok`]: (r) => r.status === 201 });
+        if (res.status === 201) {
+            const id = res.json('id');
+            const updated = http.put(`${BASE_URL}/api/${resource}/${id}`, JSON.stringify({ description: 'Updated' }),
+                { headers, tags: { name: `PUT /api/${resource}/{id}` } });
+            check(updated, { [`PUT /api/${resource}/{id} ok`]: (r) => r.status === 200 });
+            const deleted = http.del(`${BASE_URL}/api/${resource}/${id}`, null,
+                { headers, tags: { name: `DELETE /api/${resource}/{id}` } });
+            check(deleted, { [`DELETE /api/${resource}/{id} ok`]: (r) => r.status === 204 });
+        }
+    }
+
+    // User lifecycle
+    const username = `lt_${suffix}`.replace(/-/g, '_').slice(0, 50);
+    const user = http.post(`${BASE_URL}/api/users`, JSON.stringify({
+        username, email: `${username}@example.com`, password: 'load-test', firstName: 'Load', lastName: 'Test',
+    }), { headers: { 'Content-Type': 'application/json' }, tags: { name: 'POST /api/users' } });
+    check(user, { 'POST /api/users ok': (r) => r.status === 201 });
+    if (user.status === 201) {
+        const id = user.json('id');
+        const updated = http.put(`${BASE_URL}/api/users/${id}`, JSON.stringify({ firstName: 'Updated' }),
+            { headers, tags: { name: 'PUT /api/users/{id}' } });
+        check(updated, { 'PUT /api/users/{id} ok': (r) => r.status === 200 });
+        const deleted = http.del(`${BASE_URL}/api/users/${id}`, null,
+            { headers, tags: { name: 'DELETE /api/users/{id}' } });
+        check(deleted, { 'DELETE /api/users/{id} ok': (r) => r.status === 202 });
+    }
+}
+
+export function handleSummary(data) {
+    // Compact per-endpoint table: requests/s, p50 and p99 in milliseconds
+    const seconds = data.state.testRunDurationMs / 1000;
+    const rows = [];
+    for (const [metric, value] of Object.entries(data.metrics)) {
+        const match = metric.match(/^http_req_duration\{name:(.+)\}$/);
+        if (match && value.values.count > 0) {
+            rows.push(`${match[1].padEnd(45)} ${(value.values.count / seconds).toFixed(1).padStart(8)} req/s`
+                + `  p50 ${value.values['p(50)'].toFixed(1).padStart(8)} ms`
+                + `  p99 ${value.values['p(99)'].toFixed(1).padStart(8)} ms`);
+        }
+    }
+    return {
+        stdout: rows.sort().join('\n') + '\n',
+        'load-test/results.json': JSON.stringify(data, null, 2),
+    };
+}
@@ -0,0 +1,121 @@
+-- Seeds a production-scale dataset into a PostgreSQL database migrated by Liquibase
+-- (start the application once first). Rows are appended after the existing IDs, so the
+-- script can be run more than once.
+--
+--   psql -h localhost -U bloguser -d blogdb -f load-test/seed.sql
+--   psql ... -v users=200000 -v posts_per_user=10 -f load-test/seed.sql
+--
+-- Defaults: 100 000 users, 1 000 000 posts, 3 000 000 post_tags rows, 2 000 tags, 50 categories.
+-- Every seeded user is called seed_user_<id> and has the password given by -v password.
+
+\set ON_ERROR_STOP on
+
+\if :{?users}
+\else
+\set users 100000
+\endif
+\if :{?posts_per_user}
+\else
+\set posts_per_user 10
+\endif
+\if :{?tags}
+\else
+\set tags 2000
+\endif
+\if :{?tags_per_post}
+\else
+\set tags_per_post 3
+\endif
+\if :{?categories}
+\else
+\set categories 50
+\endif
+\if :{?batch_users}
+\else
+\set batch_users 5000
+\endif
+\if :{?password}
+\else
+\set password loadtest
+\endif
+
+\timing on
+
+-- BCrypt hash shared by all seeded users, computed once (pgcrypto is a trusted extension)
+CREATE EXTENSION IF NOT EXISTS pgcrypto;
+SELECT crypt(:'password', gen_salt('bf', 10)) AS password_hash \gset
+
+SELECT COALESCE(MAX(id), 0) AS user_base FROM users \gset
+SELECT COALESCE(MAX(id), 0) AS category_base FROM categories \gset
+SELECT COALESCE(MAX(id), 0) AS tag_base FROM tags \gset
+SELECT COALESCE(MAX(id), 0) AS post_base FROM posts \gset
+
+INSERT INTO categories (id, name, description, created_at, updated_at)
+SELECT :category_base + g, 'seed-category-' || (:category_base + g), 'Seeded category ' || g, now(), now()
+FROM generate_series(1, :categories) g;
+
+INSERT INTO tags (id, name, description, created_at, updated_at)
+SELECT :tag_base + g, 'seed-tag-' || (:tag_base + g), 'Seeded tag ' || g, now(), now()
+FROM generate_series(1, :tags) g;
+
+INSERT INTO users (id, username, email, password, first_name, last_name, enabled, created_at, updated_at)
+SELECT :user_base + g,
+       'seed_user_' || (:user_base + g),
+       'seed_user_' || (:user_base + g) || '@example.com',
+       :'password_hash',
+       'First' || g,
+       'Last' || g,
+       true,
+       now() - (g % 1000) * interval '1 day',
+       now()
+FROM generate_series(1, :users) g;
+
+-- Posts and their tags are inserted in batches of batch_users authors; \gexec runs
+-- (and commits) each generated statement on its own, so progress survives an interruption.
+-- Every fifth post is a draft; roughly every tenth post has no category.
+SELECT format($sql$
+    INSERT INTO posts (id, title, content, status, author_id, category_id, created_at, updated_at, published_at)
+    SELECT p.id,
+           'Seeded post ' || p.id,
+           repeat('Lorem ipsum dolor sit amet, consectetur adipiscing elit. ', 10 + (p.id %% 40)::int),
+           CASE WHEN p.id %% 5 = 0 THEN 'DRAFT' ELSE 'PUBLISHED' END,
+           %1$s + u,
+           CASE WHEN p.id %% 10 = 0 THEN NULL ELSE %2$s + 1 + (p.id %% %3$s) END,
+           now() - (p.id %% 100000) * interval '5 minutes',
+           now() - (p.id %% 100000) * interval '5 minutes',
+           CASE WHEN p.id %% 5 = 0 THEN NULL ELSE now() - (p.id %% 100000) * interval '5 minutes' + interval '1 hour' END
+    FROM generate_series(%4$s, %5$s) u
+    CROSS JOIN LATERAL (SELECT %6$s + (u - 1) * %7$s + k AS id FROM generate_series(1, %7$s) k) p
+    $sql$,
+    :user_base, :category_base, :categories, lo, LEAST(lo + :batch_users - 1, :users), :post_base, :posts_per_user)
+FROM generate_series(1, :users, :batch_users) lo
+\gexec
+
+-- Tags follow a stride through the tag range, so every tag is used and posts share tags
+SELECT format($sql$
+    INSERT INTO post_tags (post_id, tag_id)
+    SELECT p.id, %1$s + 1 + ((p.id * 7919 + j * 104729) %% %2$s)
+    FROM generate_series(%3$s, %4$s) AS p(id)
+    CROSS JOIN generate_series(0, %5$s - 1) j
+    ON CONFLICT DO NOTHING
+    $sql$,
+    :tag_base, :tags, lo, LEAST(lo + :batch_users * :posts_per_user - 1, :post_base + :users * :posts_per_user),
+    :tags_per_post)
+FROM generate_series(:post_base + 1, :post_base + :users * :posts_per_user, :batch_users * :posts_per_user) lo
+\gexec
+
+-- Recompute the denormalised post counts (see 004-post-counts.yaml)
+UPDATE tags SET post_count = (SELECT COUNT(*) FROM post_tags pt WHERE pt.tag_id = tags.id);
+UPDATE categories SET post_count = (SELECT COUNT(*) FROM posts p WHERE p.category_id = categories.id);
+
+-- Let Hibernate's pooled sequences continue after the seeded IDs (see 005-id-sequences.yaml)
+SELECT setval('users_seq', (SELECT MAX(id) + 50 FROM users), false);
+SELECT setval('categories_seq', (SELECT MAX(id) + 50 FROM categories), false);
+SELECT setval('tags_seq', (SELECT MAX(id) + 50 FROM tags), false);
+SELECT setval('posts_seq', (SELECT MAX(id) + 50 FROM posts), false);
+
+ANALYZE users;
+ANALYZE categories;
+ANALYZE tags;
+ANALYZE posts;
+ANALYZE post_tags;
@@ -0,0 +1,85 @@
+// Compares the platform-thread and virtual-thread execution modes under bursty load.
+//
+// Run once against the default profile and once with SPRING_PROFILES_ACTIVE=virtual-threads:
+//   k6 run -e BASE_URL=http://localhost:8080 load-test/virtual-threads.js
+// and compare http_reqs (throughput), http_req_duration percentiles and the 503 rate.
+import http from 'k6/http';
+import encoding from 'k6/encoding';
+import { check } from 'k6';
+import { Rate } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const PEAK_RATE = parseInt(__ENV.PEAK_RATE || '800');
+
+const rejected = new Rate('rejected_503');
+
+export const options = {
+    summaryTrendStats: ['avg', 'p(50)', 'p(90)', 'p(99)', 'max'],
+    scenarios: {
+        // HTTP Basic writes: one users lookup and one BCrypt check per request, plus JDBC inserts
+        authoring: {
+            executor: 'ramping-arrival-rate',
+            exec: 'createPost',
+            startRate: 10,
+            timeUnit: '1s',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+            stages: [
+                { target: PEAK_RATE / 4, duration: '30s' },
+                { target: PEAK_RATE / 4, duration: '1m' },
+                { target: 10, duration: '15s' },
+            ],
+        },
+        // Public reads: blocking JDBC only
+        reading: {
+            executor: 'ramping-arrival-rate',
+            exec: 'listPosts',
+            startRate: 50,
+            timeUnit: '1s',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+            stages: [
+                { target: PEAK_RATE, duration: '30s' },
+                { target: PEAK_RATE, duration: '1m' },
+                { target: 50, duration: '15s' },
+            ],
+        },
+    },
+};
+
+export function setup() {
+    const username = `loadtest_${Date.now()}`;
+    const password = 'loadtest-password';
+    const res = http.post(`${BASE_URL}/api/users`, JSON.stringify({
+        username,
+        email: `${username}@example.com`,
+        password,
+        firstName: 'Load',
+        lastName: 'Test',
+    }), { headers: { 'Content-Type': 'application/json' } });
+    check(res, { 'user created': (r) => r.status === 201 });
+    return {
+        authorId: res.json('id'),
+        authorization: `Basic ${encoding.b64encode(`${username}:${password}`)}`,
+    };
+}
+
+export function createPost(data) {
+    const res = http.post(`${BASE_URL}/api/posts`, JSON.stringify({
+        title: `Load test ${__VU}-${__ITER}`,
+        content: 'Generated by the virtual-thread load test.',
+        authorId: data.authorId,
+        status: 'DRAFT',
+    }), {
+        headers: { 'Content-Type': 'application/json', Authorization: data.authorization },
+        tags: { name: 'POST /api/posts' },
+    });
+    rejected.add(res.status === 503);
+    check(res, { 'created or shed': (r) => r.status === 201 || r.status === 503 });
+}
+
+export function listPosts() {
+    const res = http.get(`${BASE_URL}/api/posts?size=20`, { tags: { name: 'GET /api/posts' } });
+    rejected.add(res.status === 503);
+    check(res, { 'ok or shed': (r) => r.status === 200 || r.status === 503 });
+}
@@ -0,0 +1,103 @@
+package de.ityreh.home.blog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import de.ityreh.home.blog.entity.Category;
+import de.ityreh.home.blog.entity.Post;
+import de.ityreh.home.blog.entity.PostStatus;
+import de.ityreh.home.blog.entity.Tag;
+import de.ityreh.home.blog.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Realistic entity graphs and a Jackson mapper configured like the application's.
+ */
+final class BenchmarkData {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_456_000);
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Jackson mapper with the same date handling as the Spring Boot default.
+     */
+    static ObjectMapper objectMapper() {
+        return JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    static User user(long id) {
+        return User.builder()
+                .id(id)
+                .username("author" + id)
+                .email("author" + id + "@example.com")
+                .password("$2a$10$abcdefghijklmnopqrstuuABCDEFGHIJKLMNOPQRSTUVWXYZ01234")
+                .firstName("Jane")
+                .lastName("Doe")
+                .createdAt(NOW)
+                .updatedAt(NOW)
+                .build();
+    }
+
+    static Category category(long id) {
+        return Category.builder()
+                .id(id)
+                .name("Category " + id)
+                .description("Posts about topic " + id)
+                .postCount(1_234L)
+                .createdAt(NOW)
+                .updatedAt(NOW)
+                .build();
+    }
+
+    static Tag tag(long id) {
+        return Tag.builder()
+                .id(id)
+                .name("tag-" + id)
+                .description("Description of tag " + id)
+                .postCount(567L)
+                .createdAt(NOW)
+                .updatedAt(NOW)
+                .build();
+    }
+
+    /**
+     * A published post with an author, a category, the given number of tags and
+     * pseudo-random prose of the given length (fixed seed, so runs are comparable).
+     */
+    static Post post(int contentLength, int tagCount) {
+        Post post = Post.builder()
+                .id(42L)
+                .title("Benchmarking the DTO mapping and JSON serialisation hot path")
+                .content(content(contentLength))
+                .status(PostStatus.PUBLISHED)
+                .author(user(7))
+                .category(category(3))
+                .createdAt(NOW)
+                .updatedAt(NOW)
+                .publishedAt(NOW)
+                .build();
+        for (long id = 1; id <= tagCount; id++) {
+            post.getTags().add(tag(id));
+        }
+        return post;
+    }
+
+    private static String content(int length) {
+        String[] words = {"the", "quick", "brown", "fox", "jumps", "over", "lazy", "dog", "\"quoted\"",
+                "naïve", "café", "line\nbreak", "spring", "hibernate", "postgres", "benchmark"};
+        Random random = new Random(length);
+        StringBuilder content = new StringBuilder(length + 16);
+        while (content.length() < length) {
+            content.append(words[random.nextInt(words.length)]).append(' ');
+        }
+        content.setLength(length);
+        return content.toString();
+    }
+}
@@ -0,0 +1,70 @@
+package de.ityreh.home.blog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ityreh.home.blog.dto.CategoryResponseDto;
+import de.ityreh.home.blog.dto.TagResponseDto;
+import de.ityreh.home.blog.dto.UserResponseDto;
+import de.ityreh.home.blog.entity.Category;
+import de.ityreh.home.blog.entity.Tag;
+import de.ityreh.home.blog.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the user, tag and category mappers and the serialisation of their results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityMappingBenchmark {
+
+    private ObjectMapper objectMapper;
+
+    private User user;
+    private Tag tag;
+    private Category category;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkData.objectMapper();
+
+        user = BenchmarkData.user(1);
+        tag = BenchmarkData.tag(1);
+        category = BenchmarkData.category(1);
+    }
+
+    @Benchmark
+    public UserResponseDto userToResponseDto() {
+        return ResponseMapper.toResponseDto(user);
+    }
+
+    @Benchmark
+    public byte[] userToResponseDtoAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ResponseMapper.toResponseDto(user));
+    }
+
+    @Benchmark
+    public TagResponseDto tagToResponseDto() {
+        return ResponseMapper.toResponseDto(tag);
+    }
+
+    @Benchmark
+    public byte[] tagToResponseDtoAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ResponseMapper.toResponseDto(tag));
+    }
+
+    @Benchmark
+    public CategoryResponseDto categoryToResponseDto() {
+        return ResponseMapper.toResponseDto(category);
+    }
+
+    @Benchmark
+    public byte[] categoryToResponseDtoAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ResponseMapper.toResponseDto(category));
+    }
+}
@@ -0,0 +1,57 @@
+package de.ityreh.home.blog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ityreh.home.blog.dto.PostResponseDto;
+import de.ityreh.home.blog.entity.Post;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link ResponseMapper#toResponseDto(Post)} and the JSON serialisation of its result,
+ * the path every post read goes through.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostMappingBenchmark {
+
+    /**
+     * Content length in characters: a short note, a typical article and a long-form post.
+     */
+    @Param({"1000", "20000", "100000"})
+    public int contentLength;
+
+    @Param({"0", "5", "20"})
+    public int tagCount;
+
+    private ObjectMapper objectMapper;
+    private Post post;
+    private PostResponseDto dto;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkData.objectMapper();
+        post = BenchmarkData.post(contentLength, tagCount);
+        dto = ResponseMapper.toResponseDto(post);
+    }
+
+    @Benchmark
+    public PostResponseDto toResponseDto() {
+        return ResponseMapper.toResponseDto(post);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    public byte[] toResponseDtoAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ResponseMapper.toResponseDto(post));
+    }
+}
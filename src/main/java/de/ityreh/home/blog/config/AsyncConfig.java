@@ -0,0 +1,14 @@
+package de.ityreh.home.blog.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables {@code @Async} methods.
+ * They run on Spring Boot's {@code applicationTaskExecutor}, which uses virtual threads
+ * when {@code spring.threads.virtual.enabled} is set (see the {@code virtual-threads} profile).
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
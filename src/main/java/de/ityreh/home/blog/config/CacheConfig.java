@@ -0,0 +1,49 @@
+package de.ityreh.home.blog.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Cache configuration.
+ * Caches are Caffeine-backed; their size and expiry are set under {@code spring.cache} in application.yml.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Cache of {@code PostResponseDto} by post ID.
+     */
+    public static final String POSTS = "posts";
+
+    /**
+     * Cache of Spring Security {@code UserDetails} by username.
+     */
+    public static final String USER_DETAILS = "userDetails";
+
+    /**
+     * Register the user details cache with its own bounds.
+     * It holds password hashes, so it gets a shorter lifetime than the shared {@code spring.cache} spec.
+     *
+     * @param maximumSize the maximum number of cached users
+     * @param ttl         how long an entry is kept after loading
+     * @return CacheManagerCustomizer instance
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> userDetailsCacheCustomizer(
+            @Value("${blog.cache.user-details.maximum-size:10000}") long maximumSize,
+            @Value("${blog.cache.user-details.ttl:5m}") Duration ttl) {
+        return cacheManager -> cacheManager.registerCustomCache(USER_DETAILS, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+    }
+}
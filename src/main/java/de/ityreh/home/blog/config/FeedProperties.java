@@ -0,0 +1,30 @@
+package de.ityreh.home.blog.config;
+
+import de.ityreh.home.blog.service.PostService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * RSS and Atom feed settings.
+ *
+ * @param title       the feed title
+ * @param description the feed description
+ * @param siteUrl     the public base URL that feed and post links are built from, without a trailing slash
+ * @param size        the number of latest published posts in the feed, at most one page of posts
+ * @param ttl         how long a rendered feed is served at most; bounds the staleness on instances
+ *                    that did not make a change
+ */
+@ConfigurationProperties(prefix = "blog.feed")
+@Validated
+public record FeedProperties(
+        @DefaultValue("Blog") String title,
+        @DefaultValue("Latest posts") String description,
+        @DefaultValue("http://localhost:8080") String siteUrl,
+        @DefaultValue("20") @Min(1) @Max(PostService.MAX_PAGE_SIZE) int size,
+        @DefaultValue("5m") Duration ttl) {
+}
@@ -0,0 +1,34 @@
+package de.ityreh.home.blog.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics configuration.
+ * <p>
+ * Controller methods are timed by Spring MVC ({@code http.server.requests}, tagged with the
+ * URI template), repository methods by Spring Data ({@code spring.data.repository.invocations}).
+ * Services annotated with {@code @Timed(SERVICE_TIMER)} are timed by {@link TimedAspect},
+ * tagged with class and method. Histograms are enabled under {@code management.metrics} in application.yml.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Timer name for service method invocations.
+     */
+    public static final String SERVICE_TIMER = "blog.service";
+
+    /**
+     * Enable {@code @Timed} on Spring beans.
+     *
+     * @param registry the meter registry
+     * @return TimedAspect instance
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
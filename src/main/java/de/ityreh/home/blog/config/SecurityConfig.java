@@ -1,7 +1,11 @@
 package de.ityreh.home.blog.config;
 
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import de.ityreh.home.blog.security.CustomUserDetailsService;
+import de.ityreh.home.blog.security.TokenRevocationRegistry;
+import de.ityreh.home.blog.security.TokenService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -15,19 +19,32 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Spring Security configuration class.
- * Configures authentication, authorization, and password encoding.
+ * Configures authentication, authorization, password encoding, and access tokens.
  */
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
+@EnableConfigurationProperties(TokenProperties.class)
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
+    private final TokenProperties tokenProperties;
 
     /**
      * Configure password encoder using BCrypt.
@@ -63,6 +80,45 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    /**
+     * Configure the encoder that signs access tokens with HMAC-SHA256.
+     *
+     * @return JwtEncoder instance
+     */
+    @Bean
+    public JwtEncoder jwtEncoder() {
+        return new NimbusJwtEncoder(new ImmutableSecret<>(tokenSigningKey()));
+    }
+
+    /**
+     * Configure the decoder that verifies bearer tokens.
+     * Besides signature, expiry and issuer, tokens of disabled or deleted users are rejected.
+     *
+     * @param revocationRegistry the validator of the users' token cutoffs
+     * @return JwtDecoder instance
+     */
+    @Bean
+    public JwtDecoder jwtDecoder(TokenRevocationRegistry revocationRegistry) {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(tokenSigningKey())
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefaultWithIssuer(TokenService.ISSUER),
+                revocationRegistry));
+        return decoder;
+    }
+
+    private SecretKey tokenSigningKey() {
+        if (tokenProperties.secret() == null || tokenProperties.secret().isBlank()) {
+            throw new IllegalStateException("blog.security.token.secret is not set; provide it through TOKEN_SECRET");
+        }
+        byte[] secret = tokenProperties.secret().getBytes(StandardCharsets.UTF_8);
+        if (secret.length < 32) {
+            throw new IllegalStateException("blog.security.token.secret must be at least 32 bytes");
+        }
+        return new SecretKeySpec(secret, "HmacSHA256");
+    }
+
     /**
      * Configure HTTP security including authorization rules and session management.
      *
@@ -73,7 +129,7 @@ public class SecurityConfig {
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 // CSRF protection is disabled because this is a stateless REST API
-                // using HTTP Basic authentication. In a stateless API, each request
+                // using bearer tokens or HTTP Basic authentication. In a stateless API, each request
                 // carries authentication credentials, making traditional CSRF tokens
                 // unnecessary. If this were a stateful web application with session
                 // cookies, CSRF protection should be enabled.
@@ -81,15 +137,21 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // Public endpoints
                         .requestMatchers(HttpMethod.POST, "/api/users").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/auth/login").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/posts/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/tags/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/categories/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/feed.xml", "/atom.xml").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
                         // All other requests require authentication
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
+                // Bearer tokens are verified by signature alone; HTTP Basic still works
+                // but pays for a user lookup and BCrypt check on every request
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> {}))
                 .httpBasic(basic -> {})
                 .authenticationProvider(authenticationProvider());
 
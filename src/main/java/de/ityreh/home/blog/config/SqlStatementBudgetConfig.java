@@ -0,0 +1,49 @@
+package de.ityreh.home.blog.config;
+
+import de.ityreh.home.blog.web.SqlStatementBudgetFilter;
+import de.ityreh.home.blog.web.SqlStatementCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-request SQL statement counting, see {@link SqlStatementBudgetFilter}.
+ * Disabled with {@code blog.sql.statement-budget.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlStatementBudgetProperties.class)
+@ConditionalOnProperty(prefix = "blog.sql.statement-budget", name = "enabled", matchIfMissing = true)
+public class SqlStatementBudgetConfig {
+
+    /**
+     * Register the statement counter with Hibernate.
+     *
+     * @return HibernatePropertiesCustomizer instance
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    /**
+     * Count statements around the whole request, including the user lookup done by Spring Security.
+     *
+     * @param properties    the budget settings
+     * @param meterRegistry the meter registry
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<SqlStatementBudgetFilter> sqlStatementBudgetFilter(
+            SqlStatementBudgetProperties properties, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<SqlStatementBudgetFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementBudgetFilter(properties, meterRegistry));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
@@ -0,0 +1,40 @@
+package de.ityreh.home.blog.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Per-request SQL statement budget settings.
+ *
+ * @param enabled       whether statements are counted at all
+ * @param maxStatements the budget for endpoints without an override
+ * @param failOnExceed  whether exceeding the budget fails the request instead of only logging a warning;
+ *                      meant for tests, never for production
+ * @param exposeHeader  whether the count is returned to clients in the {@code X-SQL-Statement-Count} header;
+ *                      meant for local development
+ * @param endpoints     budget overrides keyed by {@code "<METHOD> <URI pattern>"}, e.g. {@code "GET /api/posts/{id}"}
+ */
+@ConfigurationProperties(prefix = "blog.sql.statement-budget")
+public record SqlStatementBudgetProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10") int maxStatements,
+        @DefaultValue("false") boolean failOnExceed,
+        @DefaultValue("false") boolean exposeHeader,
+        Map<String, Integer> endpoints) {
+
+    /**
+     * Get the budget of an endpoint.
+     *
+     * @param method     the HTTP method
+     * @param uriPattern the matched URI pattern
+     * @return the maximum number of statements
+     */
+    public int budgetFor(String method, String uriPattern) {
+        if (endpoints == null) {
+            return maxStatements;
+        }
+        return endpoints.getOrDefault(method + " " + uriPattern, maxStatements);
+    }
+}
@@ -0,0 +1,18 @@
+package de.ityreh.home.blog.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Access token settings.
+ *
+ * @param secret             the HMAC-SHA256 signing key, at least 32 bytes
+ * @param ttl                how long an issued token stays valid
+ * @param revocationCacheTtl how long a user's token cutoff is cached; a revocation made through
+ *                           another instance takes up to this long to be honoured
+ */
+@ConfigurationProperties(prefix = "blog.security.token")
+public record TokenProperties(String secret, Duration ttl, @DefaultValue("5s") Duration revocationCacheTtl) {
+}
@@ -0,0 +1,108 @@
+package de.ityreh.home.blog.config;
+
+import de.ityreh.home.blog.web.CompressedResponseCache;
+import de.ityreh.home.blog.web.CompressedResponseCacheFilter;
+import de.ityreh.home.blog.web.ConcurrencyLimitFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.time.Duration;
+
+/**
+ * Web layer configuration.
+ */
+@Configuration
+@EnableConfigurationProperties(FeedProperties.class)
+public class WebConfig {
+
+    /**
+     * Collection-level validator for the post listings.
+     * <p>
+     * A page embeds authors, categories and tags, so no cheap query can tell whether it
+     * changed. The filter hashes the rendered page instead: the database work is still
+     * done, but unchanged pages are answered with {@code 304 Not Modified} and no body.
+     * Single posts, tags and categories are validated in their controllers before loading.
+     *
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> postListingEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns(
+                "/api/posts",
+                "/api/posts/summary",
+                "/api/posts/feed",
+                "/api/posts/search",
+                "/api/posts/author/*",
+                "/api/posts/status/*",
+                "/api/posts/category/*",
+                "/api/posts/tag/*");
+        return registration;
+    }
+
+    /**
+     * Pre-compressed cache of the public list responses.
+     * <p>
+     * Registered ahead of the ETag filter, so cached entries keep the entity tag computed for them.
+     * Disabled with {@code blog.response-cache.enabled=false}.
+     *
+     * @param cache the response cache
+     * @return the filter registration
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "blog.response-cache", name = "enabled", matchIfMissing = true)
+    public FilterRegistrationBean<CompressedResponseCacheFilter> compressedResponseCacheFilter(
+            CompressedResponseCache cache) {
+        FilterRegistrationBean<CompressedResponseCacheFilter> registration =
+                new FilterRegistrationBean<>(new CompressedResponseCacheFilter(cache));
+        registration.addUrlPatterns(
+                "/api/tags",
+                "/api/categories",
+                "/api/posts",
+                "/api/posts/summary",
+                "/api/posts/feed",
+                "/api/posts/author/*",
+                "/api/posts/status/*",
+                "/api/posts/category/*",
+                "/api/posts/tag/*");
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return registration;
+    }
+
+    /**
+     * Concurrency guard for virtual-thread mode.
+     * <p>
+     * Runs ahead of Spring Security so that shed requests cost neither a password check
+     * nor a database connection. Unless set explicitly, the limit is a small multiple of
+     * the HikariCP pool size, so admitted requests rarely queue for a connection.
+     *
+     * @param maxConcurrentRequests the number of requests admitted at the same time, or {@code 0} to derive it
+     * @param maximumPoolSize       the HikariCP pool size
+     * @param requestsPerConnection the number of requests admitted per pooled connection when the limit is derived
+     * @param acquireTimeout        how long a request may wait to be admitted
+     * @return the filter registration
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${blog.concurrency.max-concurrent-requests:0}") int maxConcurrentRequests,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${blog.concurrency.requests-per-connection:2}") int requestsPerConnection,
+            @Value("${blog.concurrency.acquire-timeout:500ms}") Duration acquireTimeout) {
+        int limit = maxConcurrentRequests > 0 ? maxConcurrentRequests : maximumPoolSize * requestsPerConnection;
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limit, acquireTimeout));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+}
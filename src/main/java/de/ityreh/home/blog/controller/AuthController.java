@@ -0,0 +1,35 @@
+package de.ityreh.home.blog.controller;
+
+import de.ityreh.home.blog.dto.LoginRequestDto;
+import de.ityreh.home.blog.dto.TokenResponseDto;
+import de.ityreh.home.blog.security.TokenService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for authentication.
+ */
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@Slf4j
+public class AuthController {
+
+    private final TokenService tokenService;
+
+    /**
+     * Exchange username and password for a short-lived bearer token.
+     *
+     * @param loginRequest the credentials
+     * @return the access token
+     */
+    @PostMapping("/login")
+    public ResponseEntity<TokenResponseDto> login(@Valid @RequestBody LoginRequestDto loginRequest) {
+        log.info("REST request to log in user: {}", loginRequest.getUsername());
+        TokenResponseDto response = tokenService.login(loginRequest);
+        return ResponseEntity.ok(response);
+    }
+}
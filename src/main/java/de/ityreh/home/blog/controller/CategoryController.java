@@ -10,6 +10,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -39,19 +40,25 @@ public class CategoryController {
 
     /**
      * Get a category by ID.
+     * Answers {@code 304 Not Modified} without loading the category when the client's copy is current.
      *
-     * @param id the category ID
-     * @return the category
+     * @param id      the category ID
+     * @param request the current request
+     * @return the category, or {@code null} if not modified
      */
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryResponseDto> getCategoryById(@PathVariable Long id) {
+    public ResponseEntity<CategoryResponseDto> getCategoryById(@PathVariable Long id, WebRequest request) {
         log.info("REST request to get category by ID: {}", id);
+        if (request.checkNotModified(ETags.of(id, categoryService.getCategoryLastModified(id)))) {
+            return null;
+        }
         CategoryResponseDto response = categoryService.getCategoryById(id);
         return ResponseEntity.ok(response);
     }
 
     /**
      * Get a category by name.
+     * Carries the same entity tag as {@link #getCategoryById}, so it changes with the post count too.
      *
      * @param name the category name
      * @return the category
@@ -60,17 +67,24 @@ public class CategoryController {
     public ResponseEntity<CategoryResponseDto> getCategoryByName(@PathVariable String name) {
         log.info("REST request to get category by name: {}", name);
         CategoryResponseDto response = categoryService.getCategoryByName(name);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getId(), categoryService.getCategoryLastModified(response.getId())))
+                .body(response);
     }
 
     /**
      * Get all categories.
+     * Answers {@code 304 Not Modified} without loading the categories when the client's copy is current.
      *
-     * @return list of all categories
+     * @param request the current request
+     * @return list of all categories, or {@code null} if not modified
      */
     @GetMapping
-    public ResponseEntity<List<CategoryResponseDto>> getAllCategories() {
+    public ResponseEntity<List<CategoryResponseDto>> getAllCategories(WebRequest request) {
         log.info("REST request to get all categories");
+        if (request.checkNotModified(ETags.of(categoryService.getCategoriesVersion()))) {
+            return null;
+        }
         List<CategoryResponseDto> response = categoryService.getAllCategories();
         return ResponseEntity.ok(response);
     }
@@ -93,14 +107,17 @@ public class CategoryController {
 
     /**
      * Delete a category.
+     * Its posts move to the replacement category, if given, otherwise they are left uncategorized.
      *
-     * @param id the category ID
+     * @param id            the category ID
+     * @param replacementId the replacement category ID, optional
      * @return no content response
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteCategory(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteCategory(@PathVariable Long id,
+                                               @RequestParam(required = false) Long replacementId) {
         log.info("REST request to delete category with ID: {}", id);
-        categoryService.deleteCategory(id);
+        categoryService.deleteCategory(id, replacementId);
         return ResponseEntity.noContent().build();
     }
 }
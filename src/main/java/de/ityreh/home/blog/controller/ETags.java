@@ -0,0 +1,43 @@
+package de.ityreh.home.blog.controller;
+
+import de.ityreh.home.blog.repository.CollectionVersion;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Builds strong entity tags for conditional GET requests.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Entity tag for a single resource.
+     *
+     * @param id           the resource ID
+     * @param lastModified the last time the resource representation changed
+     * @return a quoted entity tag
+     */
+    static String of(Long id, LocalDateTime lastModified) {
+        return "\"" + id + "-" + toMicros(lastModified) + "\"";
+    }
+
+    /**
+     * Entity tag for a whole collection of resources.
+     *
+     * @param version the collection version
+     * @return a quoted entity tag
+     */
+    static String of(CollectionVersion version) {
+        return "\"" + version.count() + "-" + toMicros(version.lastModified()) + "\"";
+    }
+
+    private static long toMicros(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return 0;
+        }
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1_000;
+    }
+}
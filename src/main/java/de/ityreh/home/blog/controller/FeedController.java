@@ -0,0 +1,58 @@
+package de.ityreh.home.blog.controller;
+
+import de.ityreh.home.blog.service.FeedService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * REST controller for the RSS and Atom feeds.
+ */
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class FeedController {
+
+    private final FeedService feedService;
+
+    /**
+     * Get the RSS feed of the latest published posts.
+     * Answered with {@code 304 Not Modified} if it matches {@code If-None-Match} or did not change
+     * since {@code If-Modified-Since}.
+     *
+     * @param request the current request
+     * @return the RSS document
+     */
+    @GetMapping("/feed.xml")
+    public ResponseEntity<byte[]> getRssFeed(WebRequest request) {
+        log.info("REST request to get RSS feed");
+        return feed(FeedService.Format.RSS, request);
+    }
+
+    /**
+     * Get the Atom feed of the latest published posts.
+     * Answered with {@code 304 Not Modified} if it matches {@code If-None-Match} or did not change
+     * since {@code If-Modified-Since}.
+     *
+     * @param request the current request
+     * @return the Atom document
+     */
+    @GetMapping("/atom.xml")
+    public ResponseEntity<byte[]> getAtomFeed(WebRequest request) {
+        log.info("REST request to get Atom feed");
+        return feed(FeedService.Format.ATOM, request);
+    }
+
+    private ResponseEntity<byte[]> feed(FeedService.Format format, WebRequest request) {
+        FeedService.RenderedFeed feed = feedService.getFeed(format);
+        if (request.checkNotModified(feed.etag(), feed.lastModified().toEpochMilli())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .body(feed.body());
+    }
+}
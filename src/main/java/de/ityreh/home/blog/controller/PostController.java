@@ -1,18 +1,27 @@
 package de.ityreh.home.blog.controller;
 
+import de.ityreh.home.blog.dto.CursorPageDto;
+import de.ityreh.home.blog.dto.PostBulkCreateDto;
 import de.ityreh.home.blog.dto.PostCreateDto;
 import de.ityreh.home.blog.dto.PostResponseDto;
+import de.ityreh.home.blog.dto.PostSummaryDto;
 import de.ityreh.home.blog.dto.PostUpdateDto;
 import de.ityreh.home.blog.entity.PostStatus;
+import de.ityreh.home.blog.entity.PostView;
 import de.ityreh.home.blog.service.PostService;
+import de.ityreh.home.blog.service.PostViewService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * REST controller for managing blog posts.
@@ -23,7 +32,10 @@ import java.util.List;
 @Slf4j
 public class PostController {
 
+    private static final String DEFAULT_PAGE_SIZE = "20";
+
     private final PostService postService;
+    private final PostViewService postViewService;
 
     /**
      * Create a new post.
@@ -38,57 +50,238 @@ public class PostController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Create many posts in one transaction.
+     *
+     * @param bulkCreateDto the posts to create
+     * @return the created posts, in request order
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<List<PostResponseDto>> createPosts(@Valid @RequestBody PostBulkCreateDto bulkCreateDto) {
+        log.info("REST request to create {} posts", bulkCreateDto.getPosts().size());
+        List<PostResponseDto> response = postService.createPosts(bulkCreateDto.getPosts());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     /**
      * Get a post by ID.
+     * Answers {@code 304 Not Modified} without loading the post when the client's copy is current.
+     * Published posts are served from the read model, if enabled, with a single lookup.
      *
-     * @param id the post ID
-     * @return the post
+     * @param id      the post ID
+     * @param request the current request
+     * @return the post, or {@code null} if not modified
      */
     @GetMapping("/{id}")
-    public ResponseEntity<PostResponseDto> getPostById(@PathVariable Long id) {
+    public ResponseEntity<?> getPostById(@PathVariable Long id, WebRequest request) {
         log.info("REST request to get post by ID: {}", id);
+        Optional<PostView> view = postViewService.findPostView(id);
+        if (view.isPresent()) {
+            if (request.checkNotModified(ETags.of(id, view.get().getLastModified()))) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(view.get().getBody());
+        }
+
+        if (request.checkNotModified(ETags.of(id, postService.getPostLastModified(id)))) {
+            return null;
+        }
         PostResponseDto response = postService.getPostById(id);
         return ResponseEntity.ok(response);
     }
 
     /**
-     * Get all posts.
+     * Get a page of all posts, newest published first.
      *
-     * @return list of all posts
+     * @param cursor the cursor returned with the previous page
+     * @param size   the maximum number of posts to return
+     * @return a page of posts
      */
     @GetMapping
-    public ResponseEntity<List<PostResponseDto>> getAllPosts() {
-        log.info("REST request to get all posts");
-        List<PostResponseDto> response = postService.getAllPosts();
+    public ResponseEntity<CursorPageDto<PostResponseDto>> getAllPosts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        log.info("REST request to get posts after cursor: {}", cursor);
+        CursorPageDto<PostResponseDto> response = postService.getAllPosts(cursor, size);
         return ResponseEntity.ok(response);
     }
 
     /**
-     * Get posts by author ID.
+     * Get a page of posts by author ID.
      *
      * @param authorId the author ID
-     * @return list of posts by the author
+     * @param cursor   the cursor returned with the previous page
+     * @param size     the maximum number of posts to return
+     * @return a page of posts by the author
      */
     @GetMapping("/author/{authorId}")
-    public ResponseEntity<List<PostResponseDto>> getPostsByAuthor(@PathVariable Long authorId) {
+    public ResponseEntity<CursorPageDto<PostResponseDto>> getPostsByAuthor(
+            @PathVariable Long authorId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
         log.info("REST request to get posts by author ID: {}", authorId);
-        List<PostResponseDto> response = postService.getPostsByAuthor(authorId);
+        CursorPageDto<PostResponseDto> response = postService.getPostsByAuthor(authorId, cursor, size);
         return ResponseEntity.ok(response);
     }
 
     /**
-     * Get posts by status.
+     * Get a page of posts by status.
      *
      * @param status the post status
-     * @return list of posts with the given status
+     * @param cursor the cursor returned with the previous page
+     * @param size   the maximum number of posts to return
+     * @return a page of posts with the given status
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<PostResponseDto>> getPostsByStatus(@PathVariable PostStatus status) {
+    public ResponseEntity<CursorPageDto<PostResponseDto>> getPostsByStatus(
+            @PathVariable PostStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
         log.info("REST request to get posts by status: {}", status);
-        List<PostResponseDto> response = postService.getPostsByStatus(status);
+        CursorPageDto<PostResponseDto> response = postService.getPostsByStatus(status, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get a page of posts in a category, newest published first.
+     *
+     * @param categoryId the category ID
+     * @param cursor     the cursor returned with the previous page
+     * @param size       the maximum number of posts to return
+     * @return a page of posts in the category
+     */
+    @GetMapping("/category/{categoryId}")
+    public ResponseEntity<CursorPageDto<PostResponseDto>> getPostsByCategory(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        log.info("REST request to get posts by category ID: {}", categoryId);
+        CursorPageDto<PostResponseDto> response = postService.getPostsByCategory(categoryId, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get a page of posts with a tag, most recently created first.
+     *
+     * @param tagId  the tag ID
+     * @param cursor the cursor returned with the previous page
+     * @param size   the maximum number of posts to return
+     * @return a page of posts with the tag
+     */
+    @GetMapping("/tag/{tagId}")
+    public ResponseEntity<CursorPageDto<PostResponseDto>> getPostsByTag(
+            @PathVariable Long tagId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        log.info("REST request to get posts by tag ID: {}", tagId);
+        CursorPageDto<PostResponseDto> response = postService.getPostsByTag(tagId, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get a page of the published-posts feed, newest first.
+     *
+     * @param cursor the cursor returned with the previous page
+     * @param size   the maximum number of posts to return
+     * @return a page of published post summaries
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPageDto<PostSummaryDto>> getFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        log.info("REST request to get feed after cursor: {}", cursor);
+        CursorPageDto<PostSummaryDto> response = postService.getFeed(cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get a page of post summaries, newest published first.
+     * Summaries carry everything a post listing shows except the content.
+     *
+     * @param cursor the cursor returned with the previous page
+     * @param size   the maximum number of posts to return
+     * @return a page of post summaries
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<CursorPageDto<PostSummaryDto>> getPostSummaries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        log.info("REST request to get post summaries after cursor: {}", cursor);
+        CursorPageDto<PostSummaryDto> response = postService.getPostSummaries(cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get a page of post summaries by author ID.
+     *
+     * @param authorId the author ID
+     * @param cursor   the cursor returned with the previous page
+     * @param size     the maximum number of posts to return
+     * @return a page of post summaries by the author
+     */
+    @GetMapping("/author/{authorId}/summary")
+    public ResponseEntity<CursorPageDto<PostSummaryDto>> getPostSummariesByAuthor(
+            @PathVariable Long authorId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        log.info("REST request to get post summaries by author ID: {}", authorId);
+        CursorPageDto<PostSummaryDto> response = postService.getPostSummariesByAuthor(authorId, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get a page of post summaries by status.
+     *
+     * @param status the post status
+     * @param cursor the cursor returned with the previous page
+     * @param size   the maximum number of posts to return
+     * @return a page of post summaries with the given status
+     */
+    @GetMapping("/status/{status}/summary")
+    public ResponseEntity<CursorPageDto<PostSummaryDto>> getPostSummariesByStatus(
+            @PathVariable PostStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        log.info("REST request to get post summaries by status: {}", status);
+        CursorPageDto<PostSummaryDto> response = postService.getPostSummariesByStatus(status, cursor, size);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Search posts by title and content.
+     *
+     * @param query the search terms
+     * @param page  the zero-based page number
+     * @param size  the maximum number of posts to return
+     * @return matching posts, best match first
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<PostResponseDto>> searchPosts(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        log.info("REST request to search posts: {}", query);
+        List<PostResponseDto> response = postService.searchPosts(query, page, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Export all posts as newline-delimited JSON.
+     * The response is streamed while posts are read from the database.
+     *
+     * @return a streaming NDJSON response
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPosts() {
+        log.info("REST request to export all posts");
+        StreamingResponseBody body = postService::exportPosts;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Update an existing post.
      *
@@ -130,4 +323,32 @@ public class PostController {
         postService.deletePost(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Add a tag to a post.
+     *
+     * @param id    the post ID
+     * @param tagId the tag ID
+     * @return no content response
+     */
+    @PostMapping("/{id}/tags/{tagId}")
+    public ResponseEntity<Void> attachTag(@PathVariable Long id, @PathVariable Long tagId) {
+        log.info("REST request to attach tag {} to post with ID: {}", tagId, id);
+        postService.attachTag(id, tagId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Remove a tag from a post.
+     *
+     * @param id    the post ID
+     * @param tagId the tag ID
+     * @return no content response
+     */
+    @DeleteMapping("/{id}/tags/{tagId}")
+    public ResponseEntity<Void> detachTag(@PathVariable Long id, @PathVariable Long tagId) {
+        log.info("REST request to detach tag {} from post with ID: {}", tagId, id);
+        postService.detachTag(id, tagId);
+        return ResponseEntity.noContent().build();
+    }
 }
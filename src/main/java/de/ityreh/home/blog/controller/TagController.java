@@ -10,6 +10,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -39,19 +40,25 @@ public class TagController {
 
     /**
      * Get a tag by ID.
+     * Answers {@code 304 Not Modified} without loading the tag when the client's copy is current.
      *
-     * @param id the tag ID
-     * @return the tag
+     * @param id      the tag ID
+     * @param request the current request
+     * @return the tag, or {@code null} if not modified
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TagResponseDto> getTagById(@PathVariable Long id) {
+    public ResponseEntity<TagResponseDto> getTagById(@PathVariable Long id, WebRequest request) {
         log.info("REST request to get tag by ID: {}", id);
+        if (request.checkNotModified(ETags.of(id, tagService.getTagLastModified(id)))) {
+            return null;
+        }
         TagResponseDto response = tagService.getTagById(id);
         return ResponseEntity.ok(response);
     }
 
     /**
      * Get a tag by name.
+     * Carries the same entity tag as {@link #getTagById}, so it changes with the post count too.
      *
      * @param name the tag name
      * @return the tag
@@ -60,17 +67,24 @@ public class TagController {
     public ResponseEntity<TagResponseDto> getTagByName(@PathVariable String name) {
         log.info("REST request to get tag by name: {}", name);
         TagResponseDto response = tagService.getTagByName(name);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getId(), tagService.getTagLastModified(response.getId())))
+                .body(response);
     }
 
     /**
      * Get all tags.
+     * Answers {@code 304 Not Modified} without loading the tags when the client's copy is current.
      *
-     * @return list of all tags
+     * @param request the current request
+     * @return list of all tags, or {@code null} if not modified
      */
     @GetMapping
-    public ResponseEntity<List<TagResponseDto>> getAllTags() {
+    public ResponseEntity<List<TagResponseDto>> getAllTags(WebRequest request) {
         log.info("REST request to get all tags");
+        if (request.checkNotModified(ETags.of(tagService.getTagsVersion()))) {
+            return null;
+        }
         List<TagResponseDto> response = tagService.getAllTags();
         return ResponseEntity.ok(response);
     }
@@ -93,14 +107,17 @@ public class TagController {
 
     /**
      * Delete a tag.
+     * Its posts are merged into the replacement tag, if given, otherwise the tag is removed from them.
      *
-     * @param id the tag ID
+     * @param id            the tag ID
+     * @param replacementId the replacement tag ID, optional
      * @return no content response
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTag(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteTag(@PathVariable Long id,
+                                          @RequestParam(required = false) Long replacementId) {
         log.info("REST request to delete tag with ID: {}", id);
-        tagService.deleteTag(id);
+        tagService.deleteTag(id, replacementId);
         return ResponseEntity.noContent().build();
     }
 }
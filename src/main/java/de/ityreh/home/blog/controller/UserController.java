@@ -1,6 +1,7 @@
 package de.ityreh.home.blog.controller;
 
 import de.ityreh.home.blog.dto.UserCreateDto;
+import de.ityreh.home.blog.dto.UserDeletionStatusDto;
 import de.ityreh.home.blog.dto.UserResponseDto;
 import de.ityreh.home.blog.dto.UserUpdateDto;
 import de.ityreh.home.blog.service.UserService;
@@ -11,6 +12,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.List;
 
 /**
@@ -92,15 +94,31 @@ public class UserController {
     }
 
     /**
-     * Delete a user.
+     * Delete a user and all their posts.
+     * The account is disabled at once; the posts and the account are deleted in the background.
      *
      * @param id the user ID
-     * @return no content response
+     * @return accepted response with the deletion status, located at {@code /api/users/{id}/deletion}
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
+    public ResponseEntity<UserDeletionStatusDto> deleteUser(@PathVariable Long id) {
         log.info("REST request to delete user with ID: {}", id);
-        userService.deleteUser(id);
-        return ResponseEntity.noContent().build();
+        UserDeletionStatusDto response = userService.deleteUser(id);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/users/" + id + "/deletion"))
+                .body(response);
+    }
+
+    /**
+     * Get the progress of a user deletion.
+     *
+     * @param id the user ID
+     * @return the deletion status
+     */
+    @GetMapping("/{id}/deletion")
+    public ResponseEntity<UserDeletionStatusDto> getDeletionStatus(@PathVariable Long id) {
+        log.info("REST request to get deletion status of user with ID: {}", id);
+        UserDeletionStatusDto response = userService.getDeletionStatus(id);
+        return ResponseEntity.ok(response);
     }
 }
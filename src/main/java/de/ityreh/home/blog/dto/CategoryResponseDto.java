@@ -19,6 +19,7 @@ public class CategoryResponseDto {
     private Long id;
     private String name;
     private String description;
+    private Long postCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,24 @@
+package de.ityreh.home.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a cursor-paginated list response.
+ * <p>
+ * {@code nextCursor} is an opaque token to pass back as the {@code cursor}
+ * request parameter; it is {@code null} on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+
+    private List<T> items;
+    private String nextCursor;
+}
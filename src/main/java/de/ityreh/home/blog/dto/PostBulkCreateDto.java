@@ -0,0 +1,25 @@
+package de.ityreh.home.blog.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for creating many posts in one request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostBulkCreateDto {
+
+    @NotEmpty(message = "At least one post is required")
+    @Size(max = 1000, message = "At most 1000 posts can be created per request")
+    private List<@Valid PostCreateDto> posts;
+}
@@ -1,6 +1,7 @@
 package de.ityreh.home.blog.dto;
 
 import de.ityreh.home.blog.entity.PostStatus;
+import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -9,6 +10,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.Set;
 
 /**
@@ -36,4 +38,10 @@ public class PostCreateDto {
 
     @Builder.Default
     private PostStatus status = PostStatus.DRAFT;
+
+    /**
+     * Publication time for {@link PostStatus#SCHEDULED} posts.
+     */
+    @Future(message = "Scheduled time must be in the future")
+    private LocalDateTime scheduledAt;
 }
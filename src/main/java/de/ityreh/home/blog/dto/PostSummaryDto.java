@@ -0,0 +1,30 @@
+package de.ityreh.home.blog.dto;
+
+import de.ityreh.home.blog.entity.PostStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * DTO for post listings that omits the post content.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSummaryDto {
+
+    private Long id;
+    private String title;
+    private PostStatus status;
+    private UserResponseDto author;
+    private CategoryResponseDto category;
+    private Set<TagResponseDto> tags;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime publishedAt;
+}
@@ -1,12 +1,14 @@
 package de.ityreh.home.blog.dto;
 
 import de.ityreh.home.blog.entity.PostStatus;
+import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.Set;
 
 /**
@@ -28,4 +30,10 @@ public class PostUpdateDto {
     private Set<Long> tagIds;
 
     private PostStatus status;
+
+    /**
+     * Publication time for {@link PostStatus#SCHEDULED} posts.
+     */
+    @Future(message = "Scheduled time must be in the future")
+    private LocalDateTime scheduledAt;
 }
@@ -0,0 +1,20 @@
+package de.ityreh.home.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for access token responses.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenResponseDto {
+
+    private String accessToken;
+    private String tokenType;
+    private Long expiresIn;
+}
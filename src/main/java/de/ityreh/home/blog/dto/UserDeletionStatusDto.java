@@ -0,0 +1,27 @@
+package de.ityreh.home.blog.dto;
+
+import de.ityreh.home.blog.entity.UserDeletionState;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the progress of a background user deletion.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDeletionStatusDto {
+
+    private Long userId;
+    private UserDeletionState state;
+    private Long totalPosts;
+    private Long deletedPosts;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
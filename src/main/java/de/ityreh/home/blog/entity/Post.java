@@ -2,6 +2,7 @@ package de.ityreh.home.blog.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -22,7 +23,8 @@ import java.util.Set;
 public class Post {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "posts_seq")
+    @SequenceGenerator(name = "posts_seq", sequenceName = "posts_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -44,7 +46,12 @@ public class Post {
     @JoinColumn(name = "category_id")
     private Category category;
 
+    /**
+     * Loaded in batches (at least one full listing page) so that mapping a page of posts
+     * initialises all tag sets with one query.
+     */
     @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @BatchSize(size = 128)
     @JoinTable(
         name = "post_tags",
         joinColumns = @JoinColumn(name = "post_id"),
@@ -64,6 +71,12 @@ public class Post {
     @Column(name = "published_at")
     private LocalDateTime publishedAt;
 
+    /**
+     * When a {@link PostStatus#SCHEDULED} post is due to be published; {@code null} for other statuses.
+     */
+    @Column(name = "scheduled_at")
+    private LocalDateTime scheduledAt;
+
     /**
      * Helper method to add a tag to the post.
      */
@@ -85,6 +98,7 @@ public class Post {
      */
     public void publish() {
         this.status = PostStatus.PUBLISHED;
+        this.scheduledAt = null;
         if (this.publishedAt == null) {
             this.publishedAt = LocalDateTime.now();
         }
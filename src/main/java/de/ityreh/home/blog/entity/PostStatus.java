@@ -5,5 +5,6 @@ package de.ityreh.home.blog.entity;
  */
 public enum PostStatus {
     DRAFT,
+    SCHEDULED,
     PUBLISHED
 }
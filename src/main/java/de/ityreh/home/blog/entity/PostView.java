@@ -0,0 +1,38 @@
+package de.ityreh.home.blog.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pre-rendered JSON response of a published post.
+ * Rows are written with native statements by {@code PostViewService}; the entity is only read.
+ */
+@Entity
+@Immutable
+@Table(name = "post_views")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostView {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    /**
+     * The last time the post, its author, category or tags changed; the basis of the ETag.
+     */
+    @Column(name = "last_modified")
+    private LocalDateTime lastModified;
+}
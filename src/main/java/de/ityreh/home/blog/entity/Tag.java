@@ -22,7 +22,8 @@ import java.util.Set;
 public class Tag {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tags_seq")
+    @SequenceGenerator(name = "tags_seq", sequenceName = "tags_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 50)
@@ -35,6 +36,21 @@ public class Tag {
     @Builder.Default
     private Set<Post> posts = new HashSet<>();
 
+    /**
+     * Number of posts tagged with this tag.
+     * Maintained with set-based updates by the post services, never written through the entity.
+     */
+    @Column(name = "post_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Long postCount = 0L;
+
+    /**
+     * When the post count last changed; maintained with the count. Unlike {@code updatedAt},
+     * it is not part of the responses of the posts embedding this tag.
+     */
+    @Column(name = "post_count_updated_at", insertable = false, updatable = false)
+    private LocalDateTime postCountUpdatedAt;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -5,6 +5,7 @@ import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -22,7 +23,8 @@ import java.util.List;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 50)
@@ -44,6 +46,18 @@ public class User {
     @Builder.Default
     private Boolean enabled = true;
 
+    /**
+     * Access tokens issued up to this instant are rejected; set when the account is disabled or deleted.
+     */
+    @Column(name = "tokens_valid_after")
+    private Instant tokensValidAfter;
+
+    /**
+     * When a deletion of the user was requested, {@code null} unless one is under way.
+     */
+    @Column(name = "deletion_requested_at")
+    private LocalDateTime deletionRequestedAt;
+
     @OneToMany(mappedBy = "author", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<Post> posts = new ArrayList<>();
@@ -56,6 +70,13 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Revoke all access tokens issued to the user up to now.
+     */
+    public void revokeTokens() {
+        tokensValidAfter = Instant.now();
+    }
+
     /**
      * Helper method to add a post to the user.
      */
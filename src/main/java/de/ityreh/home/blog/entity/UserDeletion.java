@@ -0,0 +1,49 @@
+package de.ityreh.home.blog.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a background user deletion.
+ * Kept after the user is gone, so its outcome can still be queried.
+ */
+@Entity
+@Table(name = "user_deletions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserDeletion {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private UserDeletionState state;
+
+    @Column(name = "total_posts", nullable = false)
+    private Long totalPosts;
+
+    @Column(name = "deleted_posts", nullable = false)
+    private Long deletedPosts;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    /**
+     * The last time the deletion made progress; a deletion that stops progressing is resumed.
+     */
+    @Column(name = "progressed_at", nullable = false)
+    private LocalDateTime progressedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String error;
+}
@@ -0,0 +1,20 @@
+package de.ityreh.home.blog.entity;
+
+/**
+ * Enumeration representing the stage of a background user deletion.
+ */
+public enum UserDeletionState {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED;
+
+    /**
+     * Check whether the deletion has ended, successfully or not.
+     *
+     * @return true if the deletion is completed or failed
+     */
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -0,0 +1,10 @@
+package de.ityreh.home.blog.event;
+
+/**
+ * Published inside a transaction when a category is created, updated or deleted.
+ * Listeners react after the transaction commits.
+ *
+ * @param categoryId the category ID
+ */
+public record CategoriesChangedEvent(Long categoryId) {
+}
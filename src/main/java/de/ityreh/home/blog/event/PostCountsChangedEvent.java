@@ -0,0 +1,12 @@
+package de.ityreh.home.blog.event;
+
+/**
+ * Published inside a transaction when the post counts of tags or categories change.
+ * The posts embedding them are not affected, since post responses carry no counts.
+ * Listeners react after the transaction commits.
+ *
+ * @param tags       whether the count of any tag changed
+ * @param categories whether the count of any category changed
+ */
+public record PostCountsChangedEvent(boolean tags, boolean categories) {
+}
@@ -0,0 +1,53 @@
+package de.ityreh.home.blog.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Published inside a transaction when the response of one or more posts changes,
+ * either because the posts themselves changed or because an embedded author,
+ * category or tag did. Listeners react after the transaction commits.
+ * <p>
+ * A change to too many posts to list them individually is published with {@link #many()};
+ * listeners then drop everything post-related instead of evicting single entries.
+ *
+ * @param postIds   the IDs of the affected posts, empty if {@code manyPosts} is set
+ * @param manyPosts whether an unknown, possibly large number of posts changed
+ */
+public record PostsChangedEvent(Set<Long> postIds, boolean manyPosts) {
+
+    /**
+     * Changes to more posts than this should be published with {@link #many()}: clearing the
+     * caches is then cheaper than loading the IDs and evicting the posts one by one.
+     */
+    public static final int MAX_LISTED_POSTS = 100;
+
+    /**
+     * Event for a single post.
+     *
+     * @param postId the post ID
+     * @return the event
+     */
+    public static PostsChangedEvent of(Long postId) {
+        return new PostsChangedEvent(Set.of(postId), false);
+    }
+
+    /**
+     * Event for several posts.
+     *
+     * @param postIds the post IDs
+     * @return the event
+     */
+    public static PostsChangedEvent of(Collection<Long> postIds) {
+        return new PostsChangedEvent(Set.copyOf(postIds), false);
+    }
+
+    /**
+     * Event for a change to many posts that are not listed.
+     *
+     * @return the event
+     */
+    public static PostsChangedEvent many() {
+        return new PostsChangedEvent(Set.of(), true);
+    }
+}
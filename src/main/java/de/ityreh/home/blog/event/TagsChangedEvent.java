@@ -0,0 +1,10 @@
+package de.ityreh.home.blog.event;
+
+/**
+ * Published inside a transaction when a tag is created, updated or deleted.
+ * Listeners react after the transaction commits.
+ *
+ * @param tagId the tag ID
+ */
+public record TagsChangedEvent(Long tagId) {
+}
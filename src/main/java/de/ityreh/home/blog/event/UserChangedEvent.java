@@ -0,0 +1,12 @@
+package de.ityreh.home.blog.event;
+
+/**
+ * Published inside a transaction when a user account is updated or deleted.
+ * Listeners react after the transaction commits.
+ *
+ * @param userId        the user ID
+ * @param username      the username
+ * @param accessRevoked whether the account can no longer authenticate (disabled or deleted)
+ */
+public record UserChangedEvent(Long userId, String username, boolean accessRevoked) {
+}
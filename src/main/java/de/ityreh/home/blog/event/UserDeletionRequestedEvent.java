@@ -0,0 +1,10 @@
+package de.ityreh.home.blog.event;
+
+/**
+ * Published inside a transaction when a user has been marked for deletion.
+ * The user's posts and the account itself are deleted in the background after the transaction commits.
+ *
+ * @param userId the user ID
+ */
+public record UserDeletionRequestedEvent(Long userId) {
+}
@@ -2,8 +2,12 @@ package de.ityreh.home.blog.repository;
 
 import de.ityreh.home.blog.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -27,4 +31,54 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * @return true if a category exists with the given name
      */
     boolean existsByName(String name);
+
+    /**
+     * Find the last modification time of a category.
+     *
+     * @param id the category ID
+     * @return an Optional containing the last modification time if the category exists
+     */
+    @Query("SELECT GREATEST(COALESCE(c.updatedAt, c.createdAt), COALESCE(c.postCountUpdatedAt, c.createdAt)) "
+            + "FROM Category c WHERE c.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(Long id);
+
+    /**
+     * Find the row count and latest modification time of all categories.
+     *
+     * @return the collection version
+     */
+    @Query("SELECT new de.ityreh.home.blog.repository.CollectionVersion("
+            + "COUNT(c), MAX(GREATEST(COALESCE(c.updatedAt, c.createdAt), COALESCE(c.postCountUpdatedAt, c.createdAt)))) "
+            + "FROM Category c")
+    CollectionVersion findCollectionVersion();
+
+    /**
+     * Add a delta to the post count of the given categories and record when it changed.
+     * {@code updated_at} is left alone, so the posts embedding them keep their ETags.
+     *
+     * @param ids   the category IDs
+     * @param delta the number of posts added (positive) or removed (negative)
+     * @param now   the time of the change
+     * @return the number of updated categories
+     */
+    @Modifying
+    @Query(value = "UPDATE categories SET post_count = post_count + :delta, post_count_updated_at = :now WHERE id IN (:ids)",
+            nativeQuery = true)
+    int adjustPostCount(Collection<Long> ids, long delta, LocalDateTime now);
+
+    /**
+     * Subtract the given posts from the post count of their categories.
+     * Must run before the posts are deleted.
+     *
+     * @param postIds the post IDs
+     * @param now     the time of the change
+     * @return the number of updated categories
+     */
+    @Modifying
+    @Query(value = "UPDATE categories SET post_count = post_count - ("
+            + "SELECT COUNT(*) FROM posts p WHERE p.category_id = categories.id AND p.id IN (:postIds)), "
+            + "post_count_updated_at = :now "
+            + "WHERE id IN (SELECT p.category_id FROM posts p WHERE p.id IN (:postIds))",
+            nativeQuery = true)
+    int subtractPosts(Collection<Long> postIds, LocalDateTime now);
 }
@@ -0,0 +1,13 @@
+package de.ityreh.home.blog.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap validator for a whole table: any insert, update or delete changes
+ * the row count or the latest modification time.
+ *
+ * @param count        the number of rows
+ * @param lastModified the latest modification time, or {@code null} for an empty table
+ */
+public record CollectionVersion(Long count, LocalDateTime lastModified) {
+}
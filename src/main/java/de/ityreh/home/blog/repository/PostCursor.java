@@ -0,0 +1,67 @@
+package de.ityreh.home.blog.repository;
+
+import de.ityreh.home.blog.entity.Post;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position within the post listing order {@code (published_at DESC NULLS LAST, id DESC)}.
+ * <p>
+ * A {@code null} {@code publishedAt} means the cursor points into the trailing
+ * block of unpublished posts.
+ *
+ * @param publishedAt the publication time of the last post on the previous page
+ * @param id          the ID of the last post on the previous page
+ */
+public record PostCursor(LocalDateTime publishedAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Create a cursor positioned after the given post.
+     *
+     * @param post the last post of a page
+     * @return the cursor
+     */
+    public static PostCursor after(Post post) {
+        return new PostCursor(post.getPublishedAt(), post.getId());
+    }
+
+    /**
+     * Decode an opaque cursor token.
+     *
+     * @param token the token, may be {@code null} or blank for the first page
+     * @return the decoded cursor, or {@code null} for the first page
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static PostCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            String publishedAt = raw.substring(0, separator);
+            Long id = Long.valueOf(raw.substring(separator + 1));
+            return new PostCursor(publishedAt.isEmpty() ? null : LocalDateTime.parse(publishedAt), id);
+        } catch (DateTimeParseException | IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    /**
+     * Encode this cursor as an opaque, URL-safe token.
+     *
+     * @return the token
+     */
+    public String encode() {
+        String raw = (publishedAt == null ? "" : publishedAt.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,27 @@
+package de.ityreh.home.blog.repository;
+
+import de.ityreh.home.blog.entity.PostStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Optional restrictions applied to a paginated post listing.
+ * Unset criteria are not applied.
+ */
+@Getter
+@Builder
+public class PostFilter {
+
+    private final Long authorId;
+    private final Long categoryId;
+    private final PostStatus status;
+
+    /**
+     * Filter that matches every post.
+     *
+     * @return an empty filter
+     */
+    public static PostFilter none() {
+        return PostFilter.builder().build();
+    }
+}
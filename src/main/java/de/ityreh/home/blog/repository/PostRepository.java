@@ -1,47 +1,292 @@
 package de.ityreh.home.blog.repository;
 
+import de.ityreh.home.blog.entity.Category;
 import de.ityreh.home.blog.entity.Post;
 import de.ityreh.home.blog.entity.PostStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Post entity operations.
  */
 @Repository
-public interface PostRepository extends JpaRepository<Post, Long> {
+public interface PostRepository extends JpaRepository<Post, Long>, PostRepositoryCustom {
 
     /**
-     * Find all posts by author ID.
+     * Number of rows the JDBC driver fetches per round trip while streaming an export.
+     */
+    String EXPORT_FETCH_SIZE = "500";
+
+    /**
+     * Find a post by ID together with its author, category and tags in a single statement.
+     *
+     * @param id the post ID
+     * @return an Optional containing the post if found
+     */
+    @EntityGraph(attributePaths = {"author", "category", "tags"})
+    Optional<Post> findWithAssociationsById(Long id);
+
+    /**
+     * Find the last time the response for a post could have changed: the latest modification
+     * time of the post, its author, category and tags, and of the last tag deletion
+     * (see {@link TagRepository#recordDeletion}).
+     *
+     * @param id the post ID
+     * @return an Optional containing the last modification time if the post exists
+     */
+    @Query(value = """
+            SELECT GREATEST(COALESCE(p.updated_at, p.created_at),
+                    COALESCE(a.updated_at, p.created_at),
+                    COALESCE(c.updated_at, p.created_at),
+                    COALESCE((SELECT MAX(t.updated_at) FROM post_tags pt JOIN tags t ON t.id = pt.tag_id
+                              WHERE pt.post_id = p.id), p.created_at),
+                    COALESCE((SELECT d.deleted_at FROM tag_deletions d), p.created_at))
+            FROM posts p JOIN users a ON a.id = p.author_id LEFT JOIN categories c ON c.id = p.category_id
+            WHERE p.id = :id""",
+            nativeQuery = true)
+    Optional<LocalDateTime> findLastModifiedById(Long id);
+
+    /**
+     * Find the IDs of all posts by an author.
      *
      * @param authorId the author's ID
-     * @return a list of posts by the author
+     * @return the post IDs
      */
-    List<Post> findByAuthorId(Long authorId);
+    @Query("SELECT p.id FROM Post p WHERE p.author.id = :authorId")
+    List<Long> findIdsByAuthorId(Long authorId);
 
     /**
-     * Find all posts by status.
+     * Count the posts of an author.
      *
-     * @param status the post status
-     * @return a list of posts with the given status
+     * @param authorId the author's ID
+     * @return the number of posts
+     */
+    long countByAuthorId(Long authorId);
+
+    /**
+     * Find up to {@code limit} IDs of posts by an author, in ascending order.
+     *
+     * @param authorId the author's ID
+     * @param limit    the maximum number of IDs to return
+     * @return the post IDs
+     */
+    @Query(value = "SELECT id FROM posts WHERE author_id = :authorId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findIdPageByAuthorId(Long authorId, int limit);
+
+    /**
+     * Delete the tag associations of the given posts.
+     *
+     * @param postIds the post IDs
+     * @return the number of deleted associations
      */
-    List<Post> findByStatus(PostStatus status);
+    @Modifying
+    @Query(value = "DELETE FROM post_tags WHERE post_id IN (:postIds)", nativeQuery = true)
+    int deletePostTagsByPostIds(Collection<Long> postIds);
 
     /**
-     * Find all posts by category ID.
+     * Find the IDs of all posts in a category.
      *
      * @param categoryId the category ID
-     * @return a list of posts in the category
+     * @return the post IDs
+     */
+    @Query("SELECT p.id FROM Post p WHERE p.category.id = :categoryId")
+    List<Long> findIdsByCategoryId(Long categoryId);
+
+    /**
+     * Check whether any of the given posts has a status.
+     *
+     * @param ids    the post IDs
+     * @param status the post status
+     * @return true if at least one of the posts has the status
+     */
+    boolean existsByIdInAndStatus(Collection<Long> ids, PostStatus status);
+
+    /**
+     * Find one page of IDs of posts with a tag, newest first.
+     * Reads only the {@code (tag_id, post_id)} index of the join table, in a single range scan.
+     *
+     * @param tagId    the tag ID
+     * @param beforeId only return posts with a smaller ID
+     * @param limit    the maximum number of IDs to return
+     * @return the post IDs, in descending order
+     */
+    @Query(value = """
+            SELECT pt.post_id FROM post_tags pt
+            WHERE pt.tag_id = :tagId AND pt.post_id < :beforeId
+            ORDER BY pt.post_id DESC
+            LIMIT :limit""", nativeQuery = true)
+    List<Long> findIdPageByTagId(Long tagId, long beforeId, int limit);
+
+    /**
+     * Find the IDs of all posts containing a specific tag.
+     *
+     * @param tagId the tag ID
+     * @return the post IDs
+     */
+    @Query("SELECT p.id FROM Post p JOIN p.tags t WHERE t.id = :tagId")
+    List<Long> findIdsByTagId(Long tagId);
+
+    /**
+     * Stream all posts with author and category, ordered by ID.
+     * <p>
+     * Results are read through a server-side cursor, so the stream must be consumed
+     * and closed inside a transaction.
+     *
+     * @return a stream of all posts
      */
-    List<Post> findByCategoryId(Long categoryId);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Post p JOIN FETCH p.author LEFT JOIN FETCH p.category ORDER BY p.id")
+    Stream<Post> streamAllForExport();
 
     /**
-     * Find all posts containing a specific tag.
+     * Full-text search over post title and content, ranked by relevance.
+     * Title matches weigh more than content matches.
+     *
+     * @param query  the search terms in web search syntax
+     * @param limit  the maximum number of IDs to return
+     * @param offset the number of matches to skip
+     * @return the IDs of matching posts, best match first
+     */
+    @Query(value = """
+            SELECT p.id FROM posts p, websearch_to_tsquery('english', :query) q
+            WHERE p.search_vector @@ q
+            ORDER BY ts_rank(p.search_vector, q) DESC, p.id DESC
+            LIMIT :limit OFFSET :offset""", nativeQuery = true)
+    List<Long> searchIds(String query, int limit, long offset);
+
+    /**
+     * Find posts by their IDs together with author and category.
+     *
+     * @param ids the post IDs
+     * @return the posts, in no particular order
+     */
+    @EntityGraph(attributePaths = {"author", "category"})
+    List<Post> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Find the tags of the given posts without loading the posts themselves.
+     *
+     * @param postIds the post IDs
+     * @return one row per post-to-tag association
+     */
+    @Query("SELECT new de.ityreh.home.blog.repository.PostTagRow(p.id, t.id, t.name) "
+            + "FROM Post p JOIN p.tags t WHERE p.id IN :postIds")
+    List<PostTagRow> findTagRowsByPostIds(Collection<Long> postIds);
+
+    /**
+     * Lock a batch of scheduled posts that are due for publishing.
+     * <p>
+     * Rows locked by another transaction are skipped rather than waited for, so several
+     * publishers can claim disjoint batches concurrently. The locks are held until the
+     * surrounding transaction ends.
+     *
+     * @param now   the current time
+     * @param limit the maximum number of posts to claim
+     * @return the IDs of the claimed posts, earliest due first
+     */
+    @Query(value = """
+            SELECT p.id FROM posts p
+            WHERE p.status = 'SCHEDULED' AND p.scheduled_at <= :now
+            ORDER BY p.scheduled_at, p.id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED""", nativeQuery = true)
+    List<Long> claimDueScheduledIds(LocalDateTime now, int limit);
+
+    /**
+     * Publish the given scheduled posts with one statement.
+     * Their publication time is the time they were scheduled for.
+     *
+     * @param ids the post IDs
+     * @param now the modification time
+     * @return the number of published posts
+     */
+    @Modifying
+    @Query("UPDATE Post p SET p.status = de.ityreh.home.blog.entity.PostStatus.PUBLISHED, "
+            + "p.publishedAt = p.scheduledAt, p.scheduledAt = NULL, p.updatedAt = :now WHERE p.id IN :ids")
+    int publishScheduled(Collection<Long> ids, LocalDateTime now);
+
+    /**
+     * Add a tag to a post by inserting the join row directly.
+     *
+     * @param postId the post ID
+     * @param tagId  the tag ID
+     * @return {@code 1} if the row was inserted, {@code 0} if it already existed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO post_tags (post_id, tag_id) VALUES (:postId, :tagId) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertPostTag(Long postId, Long tagId);
+
+    /**
+     * Remove a tag from a post by deleting the join row directly.
+     *
+     * @param postId the post ID
+     * @param tagId  the tag ID
+     * @return {@code 1} if the row was deleted, {@code 0} if it did not exist
+     */
+    @Modifying
+    @Query(value = "DELETE FROM post_tags WHERE post_id = :postId AND tag_id = :tagId", nativeQuery = true)
+    int deletePostTag(Long postId, Long tagId);
+
+    /**
+     * Set the modification time of a post without loading it.
+     *
+     * @param id  the post ID
+     * @param now the modification time
+     * @return the number of updated posts
+     */
+    @Modifying
+    @Query("UPDATE Post p SET p.updatedAt = :now WHERE p.id = :id")
+    int touch(Long id, LocalDateTime now);
+
+    /**
+     * Remove a tag from every post that carries it.
      *
      * @param tagId the tag ID
-     * @return a list of posts with the tag
+     * @return the number of deleted associations
+     */
+    @Modifying
+    @Query(value = "DELETE FROM post_tags WHERE tag_id = :tagId", nativeQuery = true)
+    int deletePostTagsByTagId(Long tagId);
+
+    /**
+     * Move the associations of a tag to a replacement tag, skipping posts that already carry it.
+     * The skipped associations are left on the old tag.
+     *
+     * @param tagId         the tag ID
+     * @param replacementId the replacement tag ID
+     * @return the number of moved associations
+     */
+    @Modifying
+    @Query(value = "UPDATE post_tags SET tag_id = :replacementId WHERE tag_id = :tagId "
+            + "AND NOT EXISTS (SELECT 1 FROM post_tags r WHERE r.post_id = post_tags.post_id AND r.tag_id = :replacementId)",
+            nativeQuery = true)
+    int moveTag(Long tagId, Long replacementId);
+
+    /**
+     * Move every post in a category to another category, or out of any category.
+     *
+     * @param categoryId  the category ID
+     * @param replacement the replacement category, or {@code null} to leave the posts uncategorized
+     * @param now         the modification time
+     * @return the number of updated posts
      */
-    List<Post> findByTagsId(Long tagId);
+    @Modifying
+    @Query("UPDATE Post p SET p.category = :replacement, p.updatedAt = :now WHERE p.category.id = :categoryId")
+    int reassignCategory(Long categoryId, Category replacement, LocalDateTime now);
 }
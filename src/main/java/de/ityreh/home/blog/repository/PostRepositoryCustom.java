@@ -0,0 +1,32 @@
+package de.ityreh.home.blog.repository;
+
+import de.ityreh.home.blog.entity.Post;
+
+import java.util.List;
+
+/**
+ * Custom query methods for {@link PostRepository} that cannot be expressed as derived queries.
+ */
+public interface PostRepositoryCustom {
+
+    /**
+     * Find one page of posts using keyset pagination on {@code (published_at DESC NULLS LAST, id DESC)}.
+     *
+     * @param filter the listing restrictions
+     * @param after  the position to continue after, or {@code null} for the first page
+     * @param limit  the maximum number of posts to return
+     * @return the posts following the cursor, in listing order
+     */
+    List<Post> findPage(PostFilter filter, PostCursor after, int limit);
+
+    /**
+     * Find one page of post summaries in the same order as {@link #findPage}.
+     * Only the columns needed for the summary are selected; the post content is never read.
+     *
+     * @param filter the listing restrictions
+     * @param after  the position to continue after, or {@code null} for the first page
+     * @param limit  the maximum number of summaries to return
+     * @return the post summaries following the cursor, in listing order
+     */
+    List<PostSummaryRow> findSummaryPage(PostFilter filter, PostCursor after, int limit);
+}
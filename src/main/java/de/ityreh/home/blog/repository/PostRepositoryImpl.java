@@ -0,0 +1,102 @@
+package de.ityreh.home.blog.repository;
+
+import de.ityreh.home.blog.entity.Post;
+import de.ityreh.home.blog.entity.PostStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of {@link PostRepositoryCustom}.
+ */
+class PostRepositoryImpl implements PostRepositoryCustom {
+
+    // To-one associations are fetched in the same statement; tags are batch-loaded (see Post#tags)
+    private static final String SELECT_POSTS =
+            "SELECT p FROM Post p JOIN FETCH p.author LEFT JOIN FETCH p.category";
+
+    private static final String SELECT_SUMMARIES =
+            "SELECT new de.ityreh.home.blog.repository.PostSummaryRow("
+                    + "p.id, p.title, p.status, a.id, a.username, c.id, c.name, "
+                    + "p.createdAt, p.updatedAt, p.publishedAt) "
+                    + "FROM Post p JOIN p.author a LEFT JOIN p.category c";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Post> findPage(PostFilter filter, PostCursor after, int limit) {
+        return findPage(SELECT_POSTS, Post.class, filter, after, limit);
+    }
+
+    @Override
+    public List<PostSummaryRow> findSummaryPage(PostFilter filter, PostCursor after, int limit) {
+        return findPage(SELECT_SUMMARIES, PostSummaryRow.class, filter, after, limit);
+    }
+
+    /**
+     * Load one page in listing order.
+     * <p>
+     * Published posts come first and unpublished posts (without a publication time) after them.
+     * Each block is read with its own bounded predicate, so every page is a range scan that starts
+     * at the cursor. A page that exhausts the published block is filled from the unpublished one.
+     */
+    private <T> List<T> findPage(String select, Class<T> resultType, PostFilter filter, PostCursor after, int limit) {
+        if (after == null) {
+            return query(select, resultType, filter, "", Map.of(), limit);
+        }
+        if (after.publishedAt() == null) {
+            return query(select, resultType, filter, " AND p.publishedAt IS NULL AND p.id < :cursorId",
+                    Map.of("cursorId", after.id()), limit);
+        }
+
+        // The row value bounds the index range; the redundant bound on the leading column
+        // keeps it a range scan for planners that do not use row comparisons as index bounds
+        List<T> page = new ArrayList<>(query(select, resultType, filter,
+                " AND p.publishedAt <= :cursorPublishedAt"
+                        + " AND (p.publishedAt, p.id) < (:cursorPublishedAt, :cursorId)",
+                Map.of("cursorPublishedAt", after.publishedAt(), "cursorId", after.id()), limit));
+        // Published posts always have a publication time, so they have no unpublished block
+        if (page.size() < limit && filter.getStatus() != PostStatus.PUBLISHED) {
+            page.addAll(query(select, resultType, filter, " AND p.publishedAt IS NULL", Map.of(),
+                    limit - page.size()));
+        }
+        return page;
+    }
+
+    /**
+     * Append the filter and the given keyset restriction to the select clause and run the query.
+     */
+    private <T> List<T> query(String select, Class<T> resultType, PostFilter filter,
+                              String keyset, Map<String, Object> keysetParameters, int limit) {
+        StringBuilder jpql = new StringBuilder(select).append(" WHERE 1 = 1");
+        Map<String, Object> parameters = new HashMap<>(keysetParameters);
+
+        if (filter.getAuthorId() != null) {
+            jpql.append(" AND p.author.id = :authorId");
+            parameters.put("authorId", filter.getAuthorId());
+        }
+
+        if (filter.getCategoryId() != null) {
+            jpql.append(" AND p.category.id = :categoryId");
+            parameters.put("categoryId", filter.getCategoryId());
+        }
+
+        if (filter.getStatus() != null) {
+            jpql.append(" AND p.status = :status");
+            parameters.put("status", filter.getStatus());
+        }
+
+        jpql.append(keyset);
+        jpql.append(" ORDER BY p.publishedAt DESC NULLS LAST, p.id DESC");
+
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), resultType);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
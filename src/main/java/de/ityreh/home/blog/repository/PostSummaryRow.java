@@ -0,0 +1,21 @@
+package de.ityreh.home.blog.repository;
+
+import de.ityreh.home.blog.entity.PostStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the post columns shown in listings, without the post content.
+ */
+public record PostSummaryRow(
+        Long id,
+        String title,
+        PostStatus status,
+        Long authorId,
+        String authorUsername,
+        Long categoryId,
+        String categoryName,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime publishedAt) {
+}
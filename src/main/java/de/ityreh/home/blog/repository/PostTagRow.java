@@ -0,0 +1,7 @@
+package de.ityreh.home.blog.repository;
+
+/**
+ * Projection of a single post-to-tag association with the tag name.
+ */
+public record PostTagRow(Long postId, Long tagId, String tagName) {
+}
@@ -0,0 +1,174 @@
+package de.ityreh.home.blog.repository;
+
+import de.ityreh.home.blog.entity.PostView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for the post read model.
+ */
+@Repository
+public interface PostViewRepository extends JpaRepository<PostView, Long> {
+
+    /**
+     * Find the rendered response of a post unless a refresh of it is pending.
+     *
+     * @param postId the post ID
+     * @return the rendered post, or empty if there is none or it is stale
+     */
+    @Query(value = """
+            SELECT v.* FROM post_views v
+            WHERE v.post_id = :postId
+              AND NOT EXISTS (SELECT 1 FROM post_view_refreshes r WHERE r.post_id = v.post_id)""",
+            nativeQuery = true)
+    Optional<PostView> findFreshById(Long postId);
+
+    /**
+     * Insert or replace the rendered response of a post.
+     * The modification time is computed the same way as {@link PostRepository#findLastModifiedById},
+     * so ETags match those of the regular read path.
+     *
+     * @param postId the post ID
+     * @param body   the rendered JSON response
+     * @return the number of written rows
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO post_views (post_id, body, last_modified)
+            SELECT p.id, :body, GREATEST(COALESCE(p.updated_at, p.created_at),
+                    COALESCE(a.updated_at, p.created_at),
+                    COALESCE(c.updated_at, p.created_at),
+                    COALESCE((SELECT MAX(t.updated_at) FROM post_tags pt JOIN tags t ON t.id = pt.tag_id
+                              WHERE pt.post_id = p.id), p.created_at),
+                    COALESCE((SELECT d.deleted_at FROM tag_deletions d), p.created_at))
+            FROM posts p JOIN users a ON a.id = p.author_id LEFT JOIN categories c ON c.id = p.category_id
+            WHERE p.id = :postId
+            ON CONFLICT (post_id) DO UPDATE SET body = EXCLUDED.body, last_modified = EXCLUDED.last_modified""",
+            nativeQuery = true)
+    int upsert(Long postId, String body);
+
+    /**
+     * Delete the rendered responses of the given posts.
+     *
+     * @param postIds the post IDs
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @Query(value = "DELETE FROM post_views WHERE post_id IN (:postIds)", nativeQuery = true)
+    int deleteByPostIds(Collection<Long> postIds);
+
+    /**
+     * Find published posts that have no rendered response yet.
+     *
+     * @param afterId only consider posts with a greater ID
+     * @param limit   the maximum number of IDs to return
+     * @return the post IDs, in ascending order
+     */
+    @Query(value = """
+            SELECT p.id FROM posts p
+            WHERE p.id > :afterId AND p.status = 'PUBLISHED'
+              AND NOT EXISTS (SELECT 1 FROM post_views v WHERE v.post_id = p.id)
+            ORDER BY p.id
+            LIMIT :limit""", nativeQuery = true)
+    List<Long> findMissingPostIds(long afterId, int limit);
+
+    /**
+     * Queue the given posts for re-rendering. A post that is already queued gets the new request
+     * time, which also locks its queue row until the surrounding transaction ends, so the
+     * refresher cannot render it before the change is committed.
+     *
+     * @param postIds the post IDs
+     * @param now     the request time
+     * @return the number of queued posts
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO post_view_refreshes (post_id, requested_at)
+            SELECT p.id, :now FROM posts p WHERE p.id IN (:postIds) ORDER BY p.id
+            ON CONFLICT (post_id) DO UPDATE SET requested_at = EXCLUDED.requested_at""", nativeQuery = true)
+    int requestRefresh(Collection<Long> postIds, LocalDateTime now);
+
+    /**
+     * Queue the rendered posts carrying a tag for re-rendering, see {@link #requestRefresh}.
+     *
+     * @param tagId the tag ID
+     * @param now   the request time
+     * @return the number of queued posts
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO post_view_refreshes (post_id, requested_at)
+            SELECT v.post_id, :now FROM post_views v JOIN post_tags pt ON pt.post_id = v.post_id
+            WHERE pt.tag_id = :tagId ORDER BY v.post_id
+            ON CONFLICT (post_id) DO UPDATE SET requested_at = EXCLUDED.requested_at""", nativeQuery = true)
+    int requestRefreshByTagId(Long tagId, LocalDateTime now);
+
+    /**
+     * Queue the rendered posts in a category for re-rendering, see {@link #requestRefresh}.
+     *
+     * @param categoryId the category ID
+     * @param now        the request time
+     * @return the number of queued posts
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO post_view_refreshes (post_id, requested_at)
+            SELECT v.post_id, :now FROM post_views v JOIN posts p ON p.id = v.post_id
+            WHERE p.category_id = :categoryId ORDER BY v.post_id
+            ON CONFLICT (post_id) DO UPDATE SET requested_at = EXCLUDED.requested_at""", nativeQuery = true)
+    int requestRefreshByCategoryId(Long categoryId, LocalDateTime now);
+
+    /**
+     * Queue the rendered posts of an author for re-rendering, see {@link #requestRefresh}.
+     *
+     * @param authorId the author's ID
+     * @param now      the request time
+     * @return the number of queued posts
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO post_view_refreshes (post_id, requested_at)
+            SELECT v.post_id, :now FROM post_views v JOIN posts p ON p.id = v.post_id
+            WHERE p.author_id = :authorId ORDER BY v.post_id
+            ON CONFLICT (post_id) DO UPDATE SET requested_at = EXCLUDED.requested_at""", nativeQuery = true)
+    int requestRefreshByAuthorId(Long authorId, LocalDateTime now);
+
+    /**
+     * Lock a batch of queued posts for re-rendering, skipping those locked by another transaction.
+     *
+     * @param limit the maximum number of posts to claim
+     * @return the IDs of the claimed posts, longest queued first
+     */
+    @Query(value = """
+            SELECT r.post_id FROM post_view_refreshes r
+            ORDER BY r.requested_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED""", nativeQuery = true)
+    List<Long> claimRefreshes(int limit);
+
+    /**
+     * Remove the given posts from the refresh queue.
+     *
+     * @param postIds the post IDs
+     * @return the number of removed queue rows
+     */
+    @Modifying
+    @Query(value = "DELETE FROM post_view_refreshes WHERE post_id IN (:postIds)", nativeQuery = true)
+    int deleteRefreshes(Collection<Long> postIds);
+
+    /**
+     * Empty the refresh queue.
+     *
+     * @return the number of removed queue rows
+     */
+    @Modifying
+    @Query(value = "DELETE FROM post_view_refreshes", nativeQuery = true)
+    int deleteAllRefreshes();
+}
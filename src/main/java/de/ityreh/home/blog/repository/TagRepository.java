@@ -2,8 +2,12 @@ package de.ityreh.home.blog.repository;
 
 import de.ityreh.home.blog.entity.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -27,4 +31,65 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
      * @return true if a tag exists with the given name
      */
     boolean existsByName(String name);
+
+    /**
+     * Find the last modification time of a tag.
+     *
+     * @param id the tag ID
+     * @return an Optional containing the last modification time if the tag exists
+     */
+    @Query("SELECT GREATEST(COALESCE(t.updatedAt, t.createdAt), COALESCE(t.postCountUpdatedAt, t.createdAt)) "
+            + "FROM Tag t WHERE t.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(Long id);
+
+    /**
+     * Find the row count and latest modification time of all tags.
+     *
+     * @return the collection version
+     */
+    @Query("SELECT new de.ityreh.home.blog.repository.CollectionVersion("
+            + "COUNT(t), MAX(GREATEST(COALESCE(t.updatedAt, t.createdAt), COALESCE(t.postCountUpdatedAt, t.createdAt)))) "
+            + "FROM Tag t")
+    CollectionVersion findCollectionVersion();
+
+    /**
+     * Record that a tag was deleted. The last-modified times of all posts include this time,
+     * so the posts that carried the tag get new ETags without their rows being written.
+     *
+     * @param now the time of the deletion
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query(value = "UPDATE tag_deletions SET deleted_at = :now", nativeQuery = true)
+    int recordDeletion(LocalDateTime now);
+
+    /**
+     * Add a delta to the post count of the given tags and record when it changed.
+     * {@code updated_at} is left alone, so the posts embedding them keep their ETags.
+     *
+     * @param ids   the tag IDs
+     * @param delta the number of posts added (positive) or removed (negative)
+     * @param now   the time of the change
+     * @return the number of updated tags
+     */
+    @Modifying
+    @Query(value = "UPDATE tags SET post_count = post_count + :delta, post_count_updated_at = :now WHERE id IN (:ids)",
+            nativeQuery = true)
+    int adjustPostCount(Collection<Long> ids, long delta, LocalDateTime now);
+
+    /**
+     * Subtract the given posts from the post count of every tag they carry.
+     * Must run before the posts are deleted.
+     *
+     * @param postIds the post IDs
+     * @param now     the time of the change
+     * @return the number of updated tags
+     */
+    @Modifying
+    @Query(value = "UPDATE tags SET post_count = post_count - ("
+            + "SELECT COUNT(*) FROM post_tags pt WHERE pt.tag_id = tags.id AND pt.post_id IN (:postIds)), "
+            + "post_count_updated_at = :now "
+            + "WHERE id IN (SELECT pt.tag_id FROM post_tags pt WHERE pt.post_id IN (:postIds))",
+            nativeQuery = true)
+    int subtractPosts(Collection<Long> postIds, LocalDateTime now);
 }
@@ -0,0 +1,21 @@
+package de.ityreh.home.blog.repository;
+
+import java.time.Instant;
+
+/**
+ * The instant before which a user's access tokens are no longer accepted.
+ *
+ * @param tokensValidAfter the cutoff, or {@code null} if no token of the user was ever revoked
+ */
+public record TokenCutoff(Instant tokensValidAfter) {
+
+    /**
+     * Check whether a token issued at the given instant is revoked.
+     *
+     * @param issuedAt the issue time of the token, may be {@code null}
+     * @return true if the token was issued before the cutoff, or its issue time is unknown
+     */
+    public boolean revokes(Instant issuedAt) {
+        return tokensValidAfter != null && (issuedAt == null || !issuedAt.isAfter(tokensValidAfter));
+    }
+}
@@ -0,0 +1,89 @@
+package de.ityreh.home.blog.repository;
+
+import de.ityreh.home.blog.entity.UserDeletion;
+import de.ityreh.home.blog.entity.UserDeletionState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for the progress of user deletions.
+ */
+@Repository
+public interface UserDeletionRepository extends JpaRepository<UserDeletion, Long> {
+
+    /**
+     * Set the state of a deletion and record progress.
+     *
+     * @param userId the user ID
+     * @param state  the new state
+     * @param now    the current time
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE UserDeletion d SET d.state = :state, d.progressedAt = :now WHERE d.userId = :userId")
+    int updateState(Long userId, UserDeletionState state, LocalDateTime now);
+
+    /**
+     * Add to the number of deleted posts and record progress.
+     *
+     * @param userId       the user ID
+     * @param deletedPosts the number of posts deleted since the last call
+     * @param now          the current time
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE UserDeletion d SET d.deletedPosts = d.deletedPosts + :deletedPosts, d.progressedAt = :now "
+            + "WHERE d.userId = :userId")
+    int advance(Long userId, long deletedPosts, LocalDateTime now);
+
+    /**
+     * End a deletion.
+     *
+     * @param userId the user ID
+     * @param state  {@code COMPLETED} or {@code FAILED}
+     * @param error  the failure message, {@code null} on success
+     * @param now    the current time
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE UserDeletion d SET d.state = :state, d.error = :error, d.finishedAt = :now, d.progressedAt = :now "
+            + "WHERE d.userId = :userId")
+    int finish(Long userId, UserDeletionState state, String error, LocalDateTime now);
+
+    /**
+     * Find unfinished deletions that have made no progress since the cutoff.
+     *
+     * @param cutoff the latest progress time of a stalled deletion
+     * @return the user IDs
+     */
+    @Query("SELECT d.userId FROM UserDeletion d WHERE d.finishedAt IS NULL AND d.progressedAt < :cutoff")
+    List<Long> findStalledUserIds(LocalDateTime cutoff);
+
+    /**
+     * Take over a stalled deletion. Only one caller succeeds, since the update records progress.
+     *
+     * @param userId the user ID
+     * @param cutoff the latest progress time of a stalled deletion
+     * @param now    the current time
+     * @return 1 if the deletion was taken over, 0 if it is no longer stalled
+     */
+    @Modifying
+    @Query("UPDATE UserDeletion d SET d.progressedAt = :now "
+            + "WHERE d.userId = :userId AND d.finishedAt IS NULL AND d.progressedAt < :cutoff")
+    int claimStalled(Long userId, LocalDateTime cutoff, LocalDateTime now);
+
+    /**
+     * Delete deletions that finished before the cutoff.
+     *
+     * @param cutoff the latest finish time to delete
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM UserDeletion d WHERE d.finishedAt < :cutoff")
+    int deleteFinishedBefore(LocalDateTime cutoff);
+}
@@ -1,7 +1,11 @@
 package de.ityreh.home.blog.repository;
 
 import de.ityreh.home.blog.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -20,6 +24,26 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByUsername(String username);
 
+    /**
+     * Find a user and lock its row until the surrounding transaction ends.
+     *
+     * @param id the user ID
+     * @return an Optional containing the user if found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(Long id);
+
+    /**
+     * Clear the deletion request of a user, so that the deletion can be requested again.
+     *
+     * @param id the user ID
+     * @return the number of updated users
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.deletionRequestedAt = NULL WHERE u.id = :id")
+    int clearDeletionRequest(Long id);
+
     /**
      * Find a user by email.
      *
@@ -43,4 +67,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if a user exists with the given email
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Find the token cutoff of a user without loading the user.
+     *
+     * @param username the username
+     * @return the cutoff, empty if the user does not exist
+     */
+    @Query("SELECT new de.ityreh.home.blog.repository.TokenCutoff(u.tokensValidAfter) FROM User u WHERE u.username = :username")
+    Optional<TokenCutoff> findTokenCutoffByUsername(String username);
 }
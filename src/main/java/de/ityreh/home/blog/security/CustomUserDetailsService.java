@@ -1,27 +1,64 @@
 package de.ityreh.home.blog.security;
 
+import de.ityreh.home.blog.config.CacheConfig;
 import de.ityreh.home.blog.entity.User;
+import de.ityreh.home.blog.event.UserChangedEvent;
 import de.ityreh.home.blog.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.Collections;
+import java.util.Objects;
 
 /**
  * Custom UserDetailsService implementation for Spring Security.
+ * <p>
+ * Loaded users are cached by username and evicted after a committed change to
+ * their account (see {@link UserChangedEvent}) or when the cache TTL expires.
+ * Unknown usernames are not cached.
  */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final Cache cache;
+
+    public CustomUserDetailsService(UserRepository userRepository, CacheManager cacheManager) {
+        this.userRepository = userRepository;
+        this.cache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.USER_DETAILS),
+                "Cache not configured: " + CacheConfig.USER_DETAILS);
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetails cached;
+        try {
+            cached = cache.get(username, () -> load(username));
+        } catch (Cache.ValueRetrievalException ex) {
+            if (ex.getCause() instanceof UsernameNotFoundException notFound) {
+                throw notFound;
+            }
+            throw ex;
+        }
+        // Authentication erases the password of the returned instance, so never hand out the cached one
+        return org.springframework.security.core.userdetails.User.withUserDetails(cached).build();
+    }
+
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        log.debug("Evicting cached user details of user: {}", event.username());
+        cache.evict(event.username());
+    }
+
+    private UserDetails load(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
@@ -0,0 +1,62 @@
+package de.ityreh.home.blog.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.ityreh.home.blog.config.TokenProperties;
+import de.ityreh.home.blog.event.UserChangedEvent;
+import de.ityreh.home.blog.repository.TokenCutoff;
+import de.ityreh.home.blog.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+
+/**
+ * Rejects access tokens issued to a user before their account was disabled or deleted,
+ * and tokens of users that no longer exist.
+ * <p>
+ * The cutoff is stored with the user ({@code users.tokens_valid_after}), so every instance
+ * honours it. Cutoffs are cached for {@code blog.security.token.revocation-cache-ttl} to keep
+ * the lookup off most requests; a revocation is honoured at once by the instance that made it
+ * and within that interval by all others.
+ */
+@Component
+@Slf4j
+public class TokenRevocationRegistry implements OAuth2TokenValidator<Jwt> {
+
+    private static final OAuth2Error REVOKED = new OAuth2Error("invalid_token", "The token has been revoked", null);
+
+    private final UserRepository userRepository;
+
+    private final Cache<String, Optional<TokenCutoff>> cutoffs;
+
+    public TokenRevocationRegistry(UserRepository userRepository, TokenProperties tokenProperties) {
+        this.userRepository = userRepository;
+        this.cutoffs = Caffeine.newBuilder()
+                .expireAfterWrite(tokenProperties.revocationCacheTtl())
+                .maximumSize(10_000)
+                .build();
+    }
+
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.accessRevoked()) {
+            cutoffs.invalidate(event.username());
+            log.info("Revoked access tokens of user: {}", event.username());
+        }
+    }
+
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt token) {
+        Optional<TokenCutoff> cutoff = cutoffs.get(token.getSubject(), userRepository::findTokenCutoffByUsername);
+        if (cutoff.isEmpty() || cutoff.get().revokes(token.getIssuedAt())) {
+            return OAuth2TokenValidatorResult.failure(REVOKED);
+        }
+        return OAuth2TokenValidatorResult.success();
+    }
+}
@@ -0,0 +1,71 @@
+package de.ityreh.home.blog.security;
+
+import de.ityreh.home.blog.config.MetricsConfig;
+import de.ityreh.home.blog.config.TokenProperties;
+import de.ityreh.home.blog.dto.LoginRequestDto;
+import de.ityreh.home.blog.dto.TokenResponseDto;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+/**
+ * Issues signed, short-lived access tokens.
+ * The password is verified once at login; requests carrying the token only need a signature check.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+@Slf4j
+public class TokenService {
+
+    /**
+     * Issuer claim of every token.
+     */
+    public static final String ISSUER = "blog";
+
+    private final AuthenticationManager authenticationManager;
+    private final JwtEncoder jwtEncoder;
+    private final TokenProperties tokenProperties;
+
+    /**
+     * Verify the credentials and issue an access token.
+     *
+     * @param loginRequest the credentials
+     * @return the access token
+     * @throws org.springframework.security.core.AuthenticationException if the credentials are invalid
+     *                                                                   or the account is disabled
+     */
+    public TokenResponseDto login(LoginRequestDto loginRequest) {
+        Authentication authentication = authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(
+                        loginRequest.getUsername(), loginRequest.getPassword()));
+
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(ISSUER)
+                .subject(authentication.getName())
+                .issuedAt(now)
+                .expiresAt(now.plus(tokenProperties.ttl()))
+                .build();
+        String token = jwtEncoder.encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), claims))
+                .getTokenValue();
+        log.debug("Issued access token for user: {}", authentication.getName());
+
+        return TokenResponseDto.builder()
+                .accessToken(token)
+                .tokenType("Bearer")
+                .expiresIn(tokenProperties.ttl().toSeconds())
+                .build();
+    }
+}
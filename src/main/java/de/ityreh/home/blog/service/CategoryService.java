@@ -1,15 +1,23 @@
 package de.ityreh.home.blog.service;
 
+import de.ityreh.home.blog.config.MetricsConfig;
 import de.ityreh.home.blog.dto.CategoryCreateDto;
 import de.ityreh.home.blog.dto.CategoryResponseDto;
 import de.ityreh.home.blog.dto.CategoryUpdateDto;
 import de.ityreh.home.blog.entity.Category;
+import de.ityreh.home.blog.event.PostsChangedEvent;
+import de.ityreh.home.blog.event.CategoriesChangedEvent;
+import de.ityreh.home.blog.repository.CollectionVersion;
+import de.ityreh.home.blog.repository.PostRepository;
 import de.ityreh.home.blog.repository.CategoryRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -17,11 +25,15 @@ import java.util.List;
  */
 @Service
 @Transactional
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Slf4j
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final PostRepository postRepository;
+    private final PostViewService postViewService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new category.
@@ -42,9 +54,10 @@ public class CategoryService {
                 .build();
 
         category = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoriesChangedEvent(category.getId()));
         log.info("Category created successfully with ID: {}", category.getId());
 
-        return toResponseDto(category);
+        return ResponseMapper.toResponseDto(category);
     }
 
     /**
@@ -58,7 +71,7 @@ public class CategoryService {
         log.debug("Fetching category with ID: {}", id);
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Category not found with ID: " + id));
-        return toResponseDto(category);
+        return ResponseMapper.toResponseDto(category);
     }
 
     /**
@@ -72,7 +85,29 @@ public class CategoryService {
         log.debug("Fetching category with name: {}", name);
         Category category = categoryRepository.findByName(name)
                 .orElseThrow(() -> new IllegalArgumentException("Category not found with name: " + name));
-        return toResponseDto(category);
+        return ResponseMapper.toResponseDto(category);
+    }
+
+    /**
+     * Get the last modification time of a category.
+     *
+     * @param id the category ID
+     * @return the last modification time
+     */
+    @Transactional(readOnly = true)
+    public LocalDateTime getCategoryLastModified(Long id) {
+        return categoryRepository.findLastModifiedById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Category not found with ID: " + id));
+    }
+
+    /**
+     * Get the version of the whole category collection.
+     *
+     * @return the collection version
+     */
+    @Transactional(readOnly = true)
+    public CollectionVersion getCategoriesVersion() {
+        return categoryRepository.findCollectionVersion();
     }
 
     /**
@@ -84,7 +119,7 @@ public class CategoryService {
     public List<CategoryResponseDto> getAllCategories() {
         log.debug("Fetching all categories");
         return categoryRepository.findAll().stream()
-                .map(this::toResponseDto)
+                .map(ResponseMapper::toResponseDto)
                 .toList();
     }
 
@@ -113,37 +148,54 @@ public class CategoryService {
         }
 
         category = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoriesChangedEvent(id));
+        // Posts embed the category, so their cached responses are stale now
+        if (category.getPostCount() > PostsChangedEvent.MAX_LISTED_POSTS) {
+            postViewService.requestRefreshByCategory(id);
+            eventPublisher.publishEvent(PostsChangedEvent.many());
+        } else {
+            eventPublisher.publishEvent(PostsChangedEvent.of(postRepository.findIdsByCategoryId(id)));
+        }
         log.info("Category updated successfully with ID: {}", category.getId());
 
-        return toResponseDto(category);
+        return ResponseMapper.toResponseDto(category);
     }
 
     /**
-     * Delete a category.
+     * Delete a category, leaving its posts uncategorized or moving them to a replacement category.
+     * Posts are updated with one set-based statement and never loaded.
      *
-     * @param id the category ID
+     * @param id            the category ID
+     * @param replacementId the category that takes over the category's posts, or {@code null} to leave them uncategorized
      */
-    public void deleteCategory(Long id) {
-        log.debug("Deleting category with ID: {}", id);
+    public void deleteCategory(Long id, Long replacementId) {
+        log.debug("Deleting category with ID: {} (replacement: {})", id, replacementId);
 
         if (!categoryRepository.existsById(id)) {
             throw new IllegalArgumentException("Category not found with ID: " + id);
         }
+        Category replacement = null;
+        if (replacementId != null) {
+            if (replacementId.equals(id)) {
+                throw new IllegalArgumentException("A category cannot replace itself");
+            }
+            replacement = categoryRepository.findById(replacementId)
+                    .orElseThrow(() -> new IllegalArgumentException("Category not found with ID: " + replacementId));
+        }
+
+        // Post IDs are never loaded: the read model queues the posts with one statement
+        // and caches and feeds are dropped as a whole
+        LocalDateTime now = LocalDateTime.now();
+        postViewService.requestRefreshByCategory(id);
+        int moved = postRepository.reassignCategory(id, replacement, now);
+        if (replacement != null) {
+            categoryRepository.adjustPostCount(List.of(replacementId), moved, now);
+            eventPublisher.publishEvent(new CategoriesChangedEvent(replacementId));
+        }
 
+        eventPublisher.publishEvent(PostsChangedEvent.many());
+        eventPublisher.publishEvent(new CategoriesChangedEvent(id));
         categoryRepository.deleteById(id);
         log.info("Category deleted successfully with ID: {}", id);
     }
-
-    /**
-     * Convert Category entity to CategoryResponseDto.
-     */
-    private CategoryResponseDto toResponseDto(Category category) {
-        return CategoryResponseDto.builder()
-                .id(category.getId())
-                .name(category.getName())
-                .description(category.getDescription())
-                .createdAt(category.getCreatedAt())
-                .updatedAt(category.getUpdatedAt())
-                .build();
-    }
 }
@@ -0,0 +1,306 @@
+package de.ityreh.home.blog.service;
+
+import de.ityreh.home.blog.config.FeedProperties;
+import de.ityreh.home.blog.config.MetricsConfig;
+import de.ityreh.home.blog.dto.PostResponseDto;
+import de.ityreh.home.blog.entity.PostStatus;
+import de.ityreh.home.blog.event.PostsChangedEvent;
+import de.ityreh.home.blog.repository.PostRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service for the RSS and Atom feeds of the latest published posts.
+ * <p>
+ * Each feed is rendered once and served from memory until a committed change touches a
+ * post it contains or a post that is published now, or until {@code blog.feed.ttl} has passed.
+ * Other changes, such as editing a draft, leave the feeds in place. Invalidation only reaches
+ * the instance that made the change; the expiry bounds how long other instances serve a stale feed.
+ * <p>
+ * A feed's Last-Modified time and entity tag are derived from its posts, not from the time it
+ * was rendered, so every instance answers conditional requests for the same feed alike.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+@Slf4j
+public class FeedService {
+
+    private static final String ATOM_NAMESPACE = "http://www.w3.org/2005/Atom";
+
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    /**
+     * Changes to more posts than this invalidate the feeds without checking which posts are
+     * published, keeping the check to a single statement with a bounded number of parameters.
+     */
+    private static final int MAX_CHECKED_POST_IDS = 1000;
+
+    private final PostService postService;
+    private final PostRepository postRepository;
+    private final FeedProperties properties;
+
+    /**
+     * Rendered feeds by format. Guarded by {@code this}.
+     */
+    private final Map<Format, RenderedFeed> feeds = new EnumMap<>(Format.class);
+
+    /**
+     * Incremented on every invalidation. A feed is only stored if no invalidation
+     * happened while it was rendered, so a render racing a commit cannot re-cache stale data.
+     * Guarded by {@code this}.
+     */
+    private long generation;
+
+    /**
+     * Get a feed, rendering it if it is not cached.
+     *
+     * @param format the feed format
+     * @return the rendered feed
+     */
+    public RenderedFeed getFeed(Format format) {
+        long renderedInGeneration;
+        synchronized (this) {
+            RenderedFeed cached = feeds.get(format);
+            if (cached != null && System.nanoTime() - cached.renderedAt() < properties.ttl().toNanos()) {
+                return cached;
+            }
+            renderedInGeneration = generation;
+        }
+
+        log.debug("Rendering {} feed", format);
+        List<PostResponseDto> posts = postService
+                .getPostsByStatus(PostStatus.PUBLISHED, null, properties.size())
+                .getItems();
+        Instant lastModified = lastModified(posts);
+        byte[] body = render(format, posts, lastModified);
+        RenderedFeed feed = new RenderedFeed(
+                body,
+                posts.stream().map(PostResponseDto::getId).collect(Collectors.toUnmodifiableSet()),
+                lastModified,
+                "\"" + DigestUtils.md5DigestAsHex(body) + "\"",
+                System.nanoTime());
+
+        synchronized (this) {
+            if (generation == renderedInGeneration) {
+                feeds.put(format, feed);
+            }
+        }
+        return feed;
+    }
+
+    @TransactionalEventListener
+    public void onPostsChanged(PostsChangedEvent event) {
+        if (event.manyPosts() || affectsFeeds(event.postIds())) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Check whether a change to the given posts can change a feed: it removes or edits a post
+     * in a feed, or it publishes or edits a post that is published now.
+     * Without a cached feed, any change may overlap a render in progress. If the check
+     * cannot be made, the feeds are assumed to be affected.
+     */
+    private boolean affectsFeeds(Set<Long> postIds) {
+        synchronized (this) {
+            if (feeds.isEmpty()) {
+                return true;
+            }
+            for (RenderedFeed feed : feeds.values()) {
+                if (postIds.stream().anyMatch(feed.postIds()::contains)) {
+                    return true;
+                }
+            }
+        }
+        if (postIds.size() > MAX_CHECKED_POST_IDS) {
+            return true;
+        }
+        try {
+            return postRepository.existsByIdInAndStatus(postIds, PostStatus.PUBLISHED);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to check whether changed posts are published, invalidating feeds", ex);
+            return true;
+        }
+    }
+
+    /**
+     * The last time any post in the feed was published or updated, to the second.
+     * Removing a post from the feed can move it back in time; the entity tag still changes.
+     */
+    private static Instant lastModified(List<PostResponseDto> posts) {
+        return posts.stream()
+                .flatMap(post -> Stream.of(post.getPublishedAt(), post.getUpdatedAt()))
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .map(dateTime -> zoned(dateTime).toInstant().truncatedTo(ChronoUnit.SECONDS))
+                .orElse(Instant.EPOCH);
+    }
+
+    private synchronized void invalidate() {
+        generation++;
+        feeds.clear();
+        log.debug("Invalidated rendered feeds");
+    }
+
+    private byte[] render(Format format, List<PostResponseDto> posts, Instant lastModified) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            XMLStreamWriter writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8");
+            writer.writeStartDocument("UTF-8", "1.0");
+            switch (format) {
+                case RSS -> writeRss(writer, posts, lastModified);
+                case ATOM -> writeAtom(writer, posts, lastModified);
+            }
+            writer.writeEndDocument();
+            writer.close();
+        } catch (XMLStreamException ex) {
+            throw new IllegalStateException("Failed to render " + format + " feed", ex);
+        }
+        return out.toByteArray();
+    }
+
+    private void writeRss(XMLStreamWriter writer, List<PostResponseDto> posts, Instant lastModified)
+            throws XMLStreamException {
+        writer.writeStartElement("rss");
+        writer.writeAttribute("version", "2.0");
+        writer.writeStartElement("channel");
+        writeElement(writer, "title", properties.title());
+        writeElement(writer, "link", properties.siteUrl());
+        writeElement(writer, "description", properties.description());
+        writeElement(writer, "lastBuildDate",
+                DateTimeFormatter.RFC_1123_DATE_TIME.format(lastModified.atZone(ZoneId.systemDefault())));
+
+        for (PostResponseDto post : posts) {
+            String link = postUrl(post);
+            writer.writeStartElement("item");
+            writeElement(writer, "title", post.getTitle());
+            writeElement(writer, "link", link);
+            writer.writeStartElement("guid");
+            writer.writeAttribute("isPermaLink", "true");
+            writer.writeCharacters(link);
+            writer.writeEndElement();
+            writeElement(writer, "pubDate", DateTimeFormatter.RFC_1123_DATE_TIME.format(zoned(post.getPublishedAt())));
+            if (post.getCategory() != null) {
+                writeElement(writer, "category", post.getCategory().getName());
+            }
+            writeElement(writer, "description", post.getContent());
+            writer.writeEndElement();
+        }
+
+        writer.writeEndElement();
+        writer.writeEndElement();
+    }
+
+    private void writeAtom(XMLStreamWriter writer, List<PostResponseDto> posts, Instant lastModified)
+            throws XMLStreamException {
+        String self = properties.siteUrl() + "/atom.xml";
+        writer.setDefaultNamespace(ATOM_NAMESPACE);
+        writer.writeStartElement(ATOM_NAMESPACE, "feed");
+        writer.writeDefaultNamespace(ATOM_NAMESPACE);
+        writeElement(writer, "title", properties.title());
+        writeElement(writer, "subtitle", properties.description());
+        writeElement(writer, "id", self);
+        writeLink(writer, "self", self);
+        writeLink(writer, "alternate", properties.siteUrl());
+        writeElement(writer, "updated",
+                DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(lastModified.atZone(ZoneId.systemDefault())));
+
+        for (PostResponseDto post : posts) {
+            String link = postUrl(post);
+            writer.writeStartElement("entry");
+            writeElement(writer, "title", post.getTitle());
+            writeElement(writer, "id", link);
+            writeLink(writer, "alternate", link);
+            writeElement(writer, "published", DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(zoned(post.getPublishedAt())));
+            writeElement(writer, "updated", DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(zoned(post.getUpdatedAt())));
+            writer.writeStartElement("author");
+            writeElement(writer, "name", post.getAuthor().getUsername());
+            writer.writeEndElement();
+            if (post.getCategory() != null) {
+                writer.writeEmptyElement("category");
+                writer.writeAttribute("term", post.getCategory().getName());
+            }
+            writer.writeStartElement("content");
+            writer.writeAttribute("type", "text");
+            writer.writeCharacters(post.getContent());
+            writer.writeEndElement();
+            writer.writeEndElement();
+        }
+
+        writer.writeEndElement();
+    }
+
+    private static void writeElement(XMLStreamWriter writer, String name, String text) throws XMLStreamException {
+        writer.writeStartElement(name);
+        writer.writeCharacters(text);
+        writer.writeEndElement();
+    }
+
+    private static void writeLink(XMLStreamWriter writer, String rel, String href) throws XMLStreamException {
+        writer.writeEmptyElement("link");
+        writer.writeAttribute("rel", rel);
+        writer.writeAttribute("href", href);
+    }
+
+    private String postUrl(PostResponseDto post) {
+        return properties.siteUrl() + "/api/posts/" + post.getId();
+    }
+
+    private static ZonedDateTime zoned(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault());
+    }
+
+    /**
+     * A supported feed format.
+     */
+    public enum Format {
+        RSS("application/rss+xml"),
+        ATOM("application/atom+xml");
+
+        private final MediaType mediaType;
+
+        Format(String mediaType) {
+            this.mediaType = MediaType.parseMediaType(mediaType);
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+    }
+
+    /**
+     * A rendered feed.
+     *
+     * @param body         the XML document
+     * @param postIds      the IDs of the posts in the feed
+     * @param lastModified the last time a post in the feed was published or updated, to the second
+     * @param etag         the quoted entity tag, a hash of the body
+     * @param renderedAt   when the feed was rendered, in {@link System#nanoTime()} units
+     */
+    public record RenderedFeed(byte[] body, Set<Long> postIds, Instant lastModified, String etag, long renderedAt) {
+    }
+}
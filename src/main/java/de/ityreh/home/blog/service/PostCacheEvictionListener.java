@@ -0,0 +1,38 @@
+package de.ityreh.home.blog.service;
+
+import de.ityreh.home.blog.config.CacheConfig;
+import de.ityreh.home.blog.event.PostsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts cached post responses once a change to them has been committed.
+ * Evicting after commit keeps a concurrent read from re-caching the old state
+ * between the eviction and the commit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostCacheEvictionListener {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener
+    public void onPostsChanged(PostsChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.POSTS);
+        if (cache == null) {
+            return;
+        }
+        if (event.manyPosts()) {
+            log.debug("Clearing cached posts");
+            cache.clear();
+            return;
+        }
+        log.debug("Evicting {} cached posts", event.postIds().size());
+        event.postIds().forEach(cache::evict);
+    }
+}
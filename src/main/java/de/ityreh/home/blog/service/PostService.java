@@ -1,35 +1,72 @@
 package de.ityreh.home.blog.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ityreh.home.blog.config.CacheConfig;
+import de.ityreh.home.blog.config.MetricsConfig;
 import de.ityreh.home.blog.dto.*;
 import de.ityreh.home.blog.entity.*;
+import de.ityreh.home.blog.event.PostCountsChangedEvent;
+import de.ityreh.home.blog.event.PostsChangedEvent;
 import de.ityreh.home.blog.repository.CategoryRepository;
+import de.ityreh.home.blog.repository.PostCursor;
+import de.ityreh.home.blog.repository.PostFilter;
 import de.ityreh.home.blog.repository.PostRepository;
+import de.ityreh.home.blog.repository.PostSummaryRow;
+import de.ityreh.home.blog.repository.PostTagRow;
 import de.ityreh.home.blog.repository.TagRepository;
 import de.ityreh.home.blog.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing blog posts.
  */
 @Service
 @Transactional
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Slf4j
 public class PostService {
 
+    /**
+     * Upper bound for the page size of post listings.
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Number of streamed posts mapped and written before the persistence context is cleared.
+     */
+    private static final int EXPORT_CHUNK_SIZE = 100;
+
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
     private final TagRepository tagRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new post.
@@ -47,6 +84,7 @@ public class PostService {
                 .title(createDto.getTitle())
                 .content(createDto.getContent())
                 .status(createDto.getStatus())
+                .scheduledAt(scheduledAt(createDto.getStatus(), createDto.getScheduledAt()))
                 .author(author)
                 .build();
 
@@ -69,9 +107,72 @@ public class PostService {
         }
 
         post = postRepository.save(post);
+        adjustPostCounts(categoryId(post), tagIds(post), 1);
+        eventPublisher.publishEvent(PostsChangedEvent.of(post.getId()));
         log.info("Post created successfully with ID: {}", post.getId());
 
-        return toResponseDto(post);
+        return ResponseMapper.toResponseDto(post);
+    }
+
+    /**
+     * Create many posts at once.
+     * <p>
+     * Authors, categories and tags are resolved with one query per type, and the posts
+     * are inserted through JDBC batches using sequence-allocated IDs.
+     *
+     * @param createDtos the post creation data
+     * @return the created posts, in request order
+     */
+    public List<PostResponseDto> createPosts(List<PostCreateDto> createDtos) {
+        log.debug("Creating {} posts", createDtos.size());
+
+        Map<Long, User> authors = findAllById(userRepository,
+                createDtos.stream().map(PostCreateDto::getAuthorId), User::getId, "Author");
+        Map<Long, Category> categories = findAllById(categoryRepository,
+                createDtos.stream().map(PostCreateDto::getCategoryId), Category::getId, "Category");
+        Map<Long, Tag> tags = findAllById(tagRepository,
+                createDtos.stream().flatMap(dto -> dto.getTagIds() != null ? dto.getTagIds().stream() : Stream.empty()),
+                Tag::getId, "Tag");
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Post> posts = new ArrayList<>(createDtos.size());
+        for (PostCreateDto createDto : createDtos) {
+            Post post = Post.builder()
+                    .title(createDto.getTitle())
+                    .content(createDto.getContent())
+                    .status(createDto.getStatus())
+                    .scheduledAt(scheduledAt(createDto.getStatus(), createDto.getScheduledAt()))
+                    .author(authors.get(createDto.getAuthorId()))
+                    .category(createDto.getCategoryId() != null ? categories.get(createDto.getCategoryId()) : null)
+                    .build();
+
+            if (createDto.getTagIds() != null) {
+                createDto.getTagIds().forEach(tagId -> post.getTags().add(tags.get(tagId)));
+            }
+
+            if (post.getStatus() == PostStatus.PUBLISHED) {
+                post.setPublishedAt(now);
+            }
+            posts.add(post);
+        }
+
+        posts = postRepository.saveAllAndFlush(posts);
+
+        adjustPostCountsByDelta(posts.stream()
+                .map(PostService::categoryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting())),
+                categoryRepository::adjustPostCount, now);
+        adjustPostCountsByDelta(posts.stream()
+                .flatMap(post -> post.getTags().stream())
+                .collect(Collectors.groupingBy(Tag::getId, Collectors.counting())),
+                tagRepository::adjustPostCount, now);
+
+        eventPublisher.publishEvent(new PostCountsChangedEvent(true, true));
+        eventPublisher.publishEvent(PostsChangedEvent.of(posts.stream().map(Post::getId).toList()));
+        log.info("Created {} posts", posts.size());
+
+        return posts.stream().map(ResponseMapper::toResponseDto).toList();
     }
 
     /**
@@ -81,52 +182,219 @@ public class PostService {
      * @return the post
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.POSTS, key = "#id")
     public PostResponseDto getPostById(Long id) {
         log.debug("Fetching post with ID: {}", id);
-        Post post = postRepository.findById(id)
+        Post post = postRepository.findWithAssociationsById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Post not found with ID: " + id));
-        return toResponseDto(post);
+        return ResponseMapper.toResponseDto(post);
     }
 
     /**
-     * Get all posts.
+     * Get the last time the response for a post could have changed.
+     * This covers the post itself and its author, category and tags.
      *
-     * @return list of all posts
+     * @param id the post ID
+     * @return the last modification time
      */
     @Transactional(readOnly = true)
-    public List<PostResponseDto> getAllPosts() {
-        log.debug("Fetching all posts");
-        return postRepository.findAll().stream()
-                .map(this::toResponseDto)
-                .toList();
+    public LocalDateTime getPostLastModified(Long id) {
+        return postRepository.findLastModifiedById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Post not found with ID: " + id));
     }
 
     /**
-     * Get posts by author ID.
+     * Get a page of all posts, newest published first.
+     *
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param size   the maximum number of posts to return
+     * @return a page of posts
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<PostResponseDto> getAllPosts(String cursor, int size) {
+        log.debug("Fetching posts after cursor: {}", cursor);
+        return findPage(PostFilter.none(), cursor, size);
+    }
+
+    /**
+     * Get a page of posts by author ID.
      *
      * @param authorId the author ID
-     * @return list of posts by the author
+     * @param cursor   the cursor returned with the previous page, or {@code null} for the first page
+     * @param size     the maximum number of posts to return
+     * @return a page of posts by the author
      */
     @Transactional(readOnly = true)
-    public List<PostResponseDto> getPostsByAuthor(Long authorId) {
-        log.debug("Fetching posts by author ID: {}", authorId);
-        return postRepository.findByAuthorId(authorId).stream()
-                .map(this::toResponseDto)
-                .toList();
+    public CursorPageDto<PostResponseDto> getPostsByAuthor(Long authorId, String cursor, int size) {
+        log.debug("Fetching posts by author ID: {} after cursor: {}", authorId, cursor);
+        return findPage(PostFilter.builder().authorId(authorId).build(), cursor, size);
     }
 
     /**
-     * Get posts by status.
+     * Get a page of posts by status.
      *
      * @param status the post status
-     * @return list of posts with the given status
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param size   the maximum number of posts to return
+     * @return a page of posts with the given status
      */
     @Transactional(readOnly = true)
-    public List<PostResponseDto> getPostsByStatus(PostStatus status) {
-        log.debug("Fetching posts with status: {}", status);
-        return postRepository.findByStatus(status).stream()
-                .map(this::toResponseDto)
-                .toList();
+    public CursorPageDto<PostResponseDto> getPostsByStatus(PostStatus status, String cursor, int size) {
+        log.debug("Fetching posts with status: {} after cursor: {}", status, cursor);
+        return findPage(PostFilter.builder().status(status).build(), cursor, size);
+    }
+
+    /**
+     * Get a page of posts in a category, newest published first.
+     *
+     * @param categoryId the category ID
+     * @param cursor     the cursor returned with the previous page, or {@code null} for the first page
+     * @param size       the maximum number of posts to return
+     * @return a page of posts in the category
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<PostResponseDto> getPostsByCategory(Long categoryId, String cursor, int size) {
+        log.debug("Fetching posts in category ID: {} after cursor: {}", categoryId, cursor);
+        return findPage(PostFilter.builder().categoryId(categoryId).build(), cursor, size);
+    }
+
+    /**
+     * Get a page of posts with a tag, most recently created first.
+     * <p>
+     * Unlike the other listings, tag pages are ordered by post ID, so that a page is read from
+     * the join table's index alone instead of joining every tagged post to sort it.
+     *
+     * @param tagId  the tag ID
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param size   the maximum number of posts to return
+     * @return a page of posts with the tag
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<PostResponseDto> getPostsByTag(Long tagId, String cursor, int size) {
+        log.debug("Fetching posts with tag ID: {} after cursor: {}", tagId, cursor);
+        checkPageSize(size);
+        PostCursor after = PostCursor.decode(cursor);
+        List<Long> ids = postRepository.findIdPageByTagId(tagId, after != null ? after.id() : Long.MAX_VALUE, size + 1);
+        return toPage(ids, size, id -> new PostCursor(null, id), this::findInOrder);
+    }
+
+    /**
+     * Get a page of the published-posts feed, newest first.
+     * Each page is one range scan of the {@code (status, published_at, id)} index, starting at the
+     * cursor: published posts always have a publication time, so no unpublished block is read.
+     *
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param size   the maximum number of posts to return
+     * @return a page of published post summaries
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<PostSummaryDto> getFeed(String cursor, int size) {
+        log.debug("Fetching feed after cursor: {}", cursor);
+        return findSummaryPage(PostFilter.builder().status(PostStatus.PUBLISHED).build(), cursor, size);
+    }
+
+    /**
+     * Get a page of post summaries, newest published first.
+     *
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param size   the maximum number of posts to return
+     * @return a page of post summaries
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<PostSummaryDto> getPostSummaries(String cursor, int size) {
+        log.debug("Fetching post summaries after cursor: {}", cursor);
+        return findSummaryPage(PostFilter.none(), cursor, size);
+    }
+
+    /**
+     * Get a page of post summaries by author ID.
+     *
+     * @param authorId the author ID
+     * @param cursor   the cursor returned with the previous page, or {@code null} for the first page
+     * @param size     the maximum number of posts to return
+     * @return a page of post summaries by the author
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<PostSummaryDto> getPostSummariesByAuthor(Long authorId, String cursor, int size) {
+        log.debug("Fetching post summaries by author ID: {} after cursor: {}", authorId, cursor);
+        return findSummaryPage(PostFilter.builder().authorId(authorId).build(), cursor, size);
+    }
+
+    /**
+     * Get a page of post summaries by status.
+     *
+     * @param status the post status
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param size   the maximum number of posts to return
+     * @return a page of post summaries with the given status
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<PostSummaryDto> getPostSummariesByStatus(PostStatus status, String cursor, int size) {
+        log.debug("Fetching post summaries with status: {} after cursor: {}", status, cursor);
+        return findSummaryPage(PostFilter.builder().status(status).build(), cursor, size);
+    }
+
+    /**
+     * Search posts by title and content.
+     *
+     * @param query the search terms
+     * @param page  the zero-based page number
+     * @param size  the maximum number of posts to return
+     * @return matching posts, best match first
+     */
+    @Transactional(readOnly = true)
+    public List<PostResponseDto> searchPosts(String query, int page, int size) {
+        log.debug("Searching posts for: {}", query);
+
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        List<Long> ids = postRepository.searchIds(query, size, (long) page * size);
+        return findInOrder(ids);
+    }
+
+    /**
+     * Write every post as newline-delimited JSON.
+     * <p>
+     * Posts are read through a database cursor and the persistence context is cleared
+     * after each chunk, so memory use does not grow with the number of posts.
+     *
+     * @param out the stream to write to
+     * @throws IOException if writing to the stream fails
+     */
+    @Transactional(readOnly = true)
+    public void exportPosts(OutputStream out) throws IOException {
+        log.debug("Exporting all posts");
+        long exported = 0;
+
+        try (Stream<Post> posts = postRepository.streamAllForExport()) {
+            Iterator<Post> iterator = posts.iterator();
+            List<Post> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE || !iterator.hasNext()) {
+                    // Mapping the chunk together lets the tag sets be batch-loaded
+                    for (Post post : chunk) {
+                        out.write(objectMapper.writeValueAsBytes(ResponseMapper.toResponseDto(post)));
+                        out.write('\n');
+                    }
+                    out.flush();
+                    exported += chunk.size();
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+
+        log.info("Exported {} posts", exported);
     }
 
     /**
@@ -139,8 +407,10 @@ public class PostService {
     public PostResponseDto updatePost(Long id, PostUpdateDto updateDto) {
         log.debug("Updating post with ID: {}", id);
 
-        Post post = postRepository.findById(id)
+        Post post = postRepository.findWithAssociationsById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Post not found with ID: " + id));
+        Long oldCategoryId = categoryId(post);
+        Set<Long> oldTagIds = tagIds(post);
 
         if (updateDto.getTitle() != null) {
             post.setTitle(updateDto.getTitle());
@@ -161,22 +431,45 @@ public class PostService {
             if (tags.size() != updateDto.getTagIds().size()) {
                 throw new IllegalArgumentException("One or more tag IDs not found");
             }
-            post.setTags(tags);
+            if (!tags.equals(post.getTags())) {
+                // Collection changes alone do not dirty the post, but its representation (and ETag) changes
+                post.setUpdatedAt(LocalDateTime.now());
+            }
+            // Change the managed set in place: Hibernate then writes only the added and removed
+            // join rows, whereas a new set instance would delete and re-insert all of them
+            post.getTags().retainAll(tags);
+            post.getTags().addAll(tags);
         }
 
         if (updateDto.getStatus() != null && !post.getStatus().equals(updateDto.getStatus())) {
             PostStatus oldStatus = post.getStatus();
             post.setStatus(updateDto.getStatus());
             
-            if (updateDto.getStatus() == PostStatus.PUBLISHED && oldStatus == PostStatus.DRAFT) {
+            if (updateDto.getStatus() == PostStatus.PUBLISHED && oldStatus != PostStatus.PUBLISHED) {
                 post.setPublishedAt(LocalDateTime.now());
             }
         }
 
+        // A scheduled post keeps its time unless a new one is given
+        boolean keepScheduledAt = post.getStatus() == PostStatus.SCHEDULED && updateDto.getScheduledAt() == null;
+        post.setScheduledAt(scheduledAt(post.getStatus(),
+                keepScheduledAt ? post.getScheduledAt() : updateDto.getScheduledAt()));
+
         post = postRepository.save(post);
+
+        Long newCategoryId = categoryId(post);
+        if (!Objects.equals(oldCategoryId, newCategoryId)) {
+            adjustPostCounts(oldCategoryId, Set.of(), -1);
+            adjustPostCounts(newCategoryId, Set.of(), 1);
+        }
+        Set<Long> newTagIds = tagIds(post);
+        adjustPostCounts(null, difference(oldTagIds, newTagIds), -1);
+        adjustPostCounts(null, difference(newTagIds, oldTagIds), 1);
+
+        eventPublisher.publishEvent(PostsChangedEvent.of(post.getId()));
         log.info("Post updated successfully with ID: {}", post.getId());
 
-        return toResponseDto(post);
+        return ResponseMapper.toResponseDto(post);
     }
 
     /**
@@ -187,11 +480,12 @@ public class PostService {
     public void deletePost(Long id) {
         log.debug("Deleting post with ID: {}", id);
 
-        if (!postRepository.existsById(id)) {
-            throw new IllegalArgumentException("Post not found with ID: " + id);
-        }
+        Post post = postRepository.findWithAssociationsById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Post not found with ID: " + id));
 
-        postRepository.deleteById(id);
+        adjustPostCounts(categoryId(post), tagIds(post), -1);
+        postRepository.delete(post);
+        eventPublisher.publishEvent(PostsChangedEvent.of(id));
         log.info("Post deleted successfully with ID: {}", id);
     }
 
@@ -204,56 +498,276 @@ public class PostService {
     public PostResponseDto publishPost(Long id) {
         log.debug("Publishing post with ID: {}", id);
 
-        Post post = postRepository.findById(id)
+        Post post = postRepository.findWithAssociationsById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Post not found with ID: " + id));
 
         post.publish();
         post = postRepository.save(post);
+        eventPublisher.publishEvent(PostsChangedEvent.of(id));
         log.info("Post published successfully with ID: {}", id);
 
-        return toResponseDto(post);
+        return ResponseMapper.toResponseDto(post);
+    }
+
+    /**
+     * Add a tag to a post.
+     * Only the join row is written; the post and its other tags are not loaded.
+     *
+     * @param id    the post ID
+     * @param tagId the tag ID
+     * @return {@code true} if the tag was added, {@code false} if the post already had it
+     */
+    public boolean attachTag(Long id, Long tagId) {
+        log.debug("Attaching tag {} to post with ID: {}", tagId, id);
+
+        if (!postRepository.existsById(id)) {
+            throw new IllegalArgumentException("Post not found with ID: " + id);
+        }
+        if (!tagRepository.existsById(tagId)) {
+            throw new IllegalArgumentException("Tag not found with ID: " + tagId);
+        }
+
+        boolean attached = postRepository.insertPostTag(id, tagId) > 0;
+        if (attached) {
+            tagChanged(id, tagId, 1);
+        }
+        return attached;
+    }
+
+    /**
+     * Remove a tag from a post.
+     * Only the join row is deleted; the post and its other tags are not loaded.
+     *
+     * @param id    the post ID
+     * @param tagId the tag ID
+     * @return {@code true} if the tag was removed, {@code false} if the post did not have it
+     */
+    public boolean detachTag(Long id, Long tagId) {
+        log.debug("Detaching tag {} from post with ID: {}", tagId, id);
+
+        boolean detached = postRepository.deletePostTag(id, tagId) > 0;
+        if (detached) {
+            tagChanged(id, tagId, -1);
+        } else if (!postRepository.existsById(id)) {
+            throw new IllegalArgumentException("Post not found with ID: " + id);
+        } else if (!tagRepository.existsById(tagId)) {
+            throw new IllegalArgumentException("Tag not found with ID: " + tagId);
+        }
+        return detached;
+    }
+
+    /**
+     * Publish one batch of scheduled posts whose time has come.
+     * <p>
+     * The batch is claimed with {@code FOR UPDATE SKIP LOCKED} and published with a single
+     * set-based update, so concurrent publishers on other instances never block each other
+     * or publish a post twice.
+     *
+     * @param batchSize the maximum number of posts to publish
+     * @return the number of posts published
+     */
+    public int publishDueScheduledPosts(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = postRepository.claimDueScheduledIds(now, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        int published = postRepository.publishScheduled(ids, now);
+        eventPublisher.publishEvent(PostsChangedEvent.of(ids));
+        log.info("Published {} scheduled posts", published);
+        return published;
+    }
+
+    /**
+     * Record a single tag change made directly on the join table.
+     */
+    private void tagChanged(Long id, Long tagId, long delta) {
+        LocalDateTime now = LocalDateTime.now();
+        tagRepository.adjustPostCount(Set.of(tagId), delta, now);
+        eventPublisher.publishEvent(new PostCountsChangedEvent(true, false));
+        // The post's representation (and ETag) changed even though its row did not
+        postRepository.touch(id, now);
+        eventPublisher.publishEvent(PostsChangedEvent.of(id));
+    }
+
+    /**
+     * Add a delta to the post counts of a category and a set of tags with one statement each.
+     */
+    private void adjustPostCounts(Long categoryId, Set<Long> tagIds, long delta) {
+        LocalDateTime now = LocalDateTime.now();
+        if (categoryId != null) {
+            categoryRepository.adjustPostCount(List.of(categoryId), delta, now);
+        }
+        if (!tagIds.isEmpty()) {
+            tagRepository.adjustPostCount(tagIds, delta, now);
+        }
+        if (categoryId != null || !tagIds.isEmpty()) {
+            eventPublisher.publishEvent(new PostCountsChangedEvent(!tagIds.isEmpty(), categoryId != null));
+        }
+    }
+
+    /**
+     * Apply per-entity post count deltas with one statement per distinct delta.
+     */
+    private static void adjustPostCountsByDelta(Map<Long, Long> deltasById, PostCountAdjuster adjuster,
+                                                LocalDateTime now) {
+        deltasById.entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())))
+                .forEach((delta, ids) -> adjuster.adjustPostCount(ids, delta, now));
     }
 
     /**
-     * Convert Post entity to PostResponseDto.
+     * Load entities by ID with a single query and fail if any of them does not exist.
      */
-    private PostResponseDto toResponseDto(Post post) {
-        UserResponseDto authorDto = UserResponseDto.builder()
-                .id(post.getAuthor().getId())
-                .username(post.getAuthor().getUsername())
-                .email(post.getAuthor().getEmail())
-                .firstName(post.getAuthor().getFirstName())
-                .lastName(post.getAuthor().getLastName())
+    private static <T> Map<Long, T> findAllById(JpaRepository<T, Long> repository, Stream<Long> ids,
+                                               Function<T, Long> idOf, String type) {
+        Set<Long> wanted = ids.filter(Objects::nonNull).collect(Collectors.toSet());
+        if (wanted.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, T> found = repository.findAllById(wanted).stream()
+                .collect(Collectors.toMap(idOf, Function.identity()));
+        wanted.stream()
+                .filter(id -> !found.containsKey(id))
+                .findFirst()
+                .ifPresent(id -> {
+                    throw new IllegalArgumentException(type + " not found with ID: " + id);
+                });
+        return found;
+    }
+
+    /**
+     * Set-based post count update, as offered by the tag and category repositories.
+     */
+    @FunctionalInterface
+    private interface PostCountAdjuster {
+        int adjustPostCount(Collection<Long> ids, long delta, LocalDateTime now);
+    }
+
+    private static Long categoryId(Post post) {
+        return post.getCategory() != null ? post.getCategory().getId() : null;
+    }
+
+    private static Set<Long> tagIds(Post post) {
+        return post.getTags().stream().map(Tag::getId).collect(Collectors.toSet());
+    }
+
+    private static Set<Long> difference(Set<Long> left, Set<Long> right) {
+        Set<Long> result = new HashSet<>(left);
+        result.removeAll(right);
+        return result;
+    }
+
+    /**
+     * Load one keyset page of posts.
+     */
+    private CursorPageDto<PostResponseDto> findPage(PostFilter filter, String cursor, int size) {
+        checkPageSize(size);
+        List<Post> posts = postRepository.findPage(filter, PostCursor.decode(cursor), size + 1);
+        return toPage(posts, size, PostCursor::after, page -> page.stream().map(ResponseMapper::toResponseDto).toList());
+    }
+
+    /**
+     * Load one keyset page of post summaries.
+     */
+    private CursorPageDto<PostSummaryDto> findSummaryPage(PostFilter filter, String cursor, int size) {
+        checkPageSize(size);
+        List<PostSummaryRow> rows = postRepository.findSummaryPage(filter, PostCursor.decode(cursor), size + 1);
+        return toPage(rows, size, row -> new PostCursor(row.publishedAt(), row.id()), this::toSummaryDtos);
+    }
+
+    private void checkPageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Load posts by ID with author and category and map them in the order of the given IDs.
+     */
+    private List<PostResponseDto> findInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Post> postsById = postRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        return ids.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .map(ResponseMapper::toResponseDto)
+                .toList();
+    }
+
+    /**
+     * Trim a result fetched with one extra row to the page size and encode the cursor for the next page.
+     * The extra row only tells whether another page exists.
+     */
+    private static <R, D> CursorPageDto<D> toPage(List<R> rows, int size,
+                                                   Function<R, PostCursor> cursorOf,
+                                                   Function<List<R>, List<D>> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<R> page = hasNext ? rows.subList(0, size) : rows;
+
+        return CursorPageDto.<D>builder()
+                .items(mapper.apply(page))
+                .nextCursor(hasNext ? cursorOf.apply(page.get(size - 1)).encode() : null)
                 .build();
+    }
 
-        CategoryResponseDto categoryDto = null;
-        if (post.getCategory() != null) {
-            categoryDto = CategoryResponseDto.builder()
-                    .id(post.getCategory().getId())
-                    .name(post.getCategory().getName())
-                    .description(post.getCategory().getDescription())
-                    .build();
+    /**
+     * Convert summary rows to PostSummaryDtos, loading the tags of all rows with one query.
+     */
+    private List<PostSummaryDto> toSummaryDtos(List<PostSummaryRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
         }
 
-        Set<TagResponseDto> tagDtos = post.getTags().stream()
-                .map(tag -> TagResponseDto.builder()
-                        .id(tag.getId())
-                        .name(tag.getName())
-                        .description(tag.getDescription())
+        Map<Long, Set<TagResponseDto>> tagsByPostId = postRepository
+                .findTagRowsByPostIds(rows.stream().map(PostSummaryRow::id).toList()).stream()
+                .collect(Collectors.groupingBy(PostTagRow::postId, Collectors.mapping(
+                        row -> TagResponseDto.builder().id(row.tagId()).name(row.tagName()).build(),
+                        Collectors.toSet())));
+
+        return rows.stream()
+                .map(row -> PostSummaryDto.builder()
+                        .id(row.id())
+                        .title(row.title())
+                        .status(row.status())
+                        .author(UserResponseDto.builder()
+                                .id(row.authorId())
+                                .username(row.authorUsername())
+                                .build())
+                        .category(row.categoryId() == null ? null : CategoryResponseDto.builder()
+                                .id(row.categoryId())
+                                .name(row.categoryName())
+                                .build())
+                        .tags(tagsByPostId.getOrDefault(row.id(), Set.of()))
+                        .createdAt(row.createdAt())
+                        .updatedAt(row.updatedAt())
+                        .publishedAt(row.publishedAt())
                         .build())
-                .collect(Collectors.toSet());
-
-        return PostResponseDto.builder()
-                .id(post.getId())
-                .title(post.getTitle())
-                .content(post.getContent())
-                .status(post.getStatus())
-                .author(authorDto)
-                .category(categoryDto)
-                .tags(tagDtos)
-                .createdAt(post.getCreatedAt())
-                .updatedAt(post.getUpdatedAt())
-                .publishedAt(post.getPublishedAt())
-                .build();
+                .toList();
+    }
+
+    /**
+     * Validate the scheduled time for a post status.
+     *
+     * @return the scheduled time to store, {@code null} unless the post is scheduled
+     */
+    private static LocalDateTime scheduledAt(PostStatus status, LocalDateTime scheduledAt) {
+        if (status != PostStatus.SCHEDULED) {
+            if (scheduledAt != null) {
+                throw new IllegalArgumentException("scheduledAt is only allowed for scheduled posts");
+            }
+            return null;
+        }
+        if (scheduledAt == null) {
+            throw new IllegalArgumentException("Scheduled posts require a scheduledAt time");
+        }
+        return scheduledAt;
     }
 }
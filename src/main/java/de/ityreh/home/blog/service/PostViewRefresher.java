@@ -0,0 +1,78 @@
+package de.ityreh.home.blog.service;
+
+import de.ityreh.home.blog.event.PostsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Keeps the post read model in step with the posts.
+ * <p>
+ * Changed posts are queued before commit, in the same transaction as the change, so a
+ * stale row is never served once the change is visible. Queued posts are re-rendered every
+ * {@code blog.read-model.refresh-interval} in separate short transactions, off the request
+ * path. Every instance may run the refresh: batches are claimed with row locks that other
+ * instances skip.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostViewRefresher {
+
+    private final PostViewService postViewService;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onPostsChanged(PostsChangedEvent event) {
+        postViewService.requestRefresh(event.postIds());
+    }
+
+    /**
+     * Re-render queued posts batch by batch until the queue is drained.
+     */
+    @Scheduled(fixedDelayString = "${blog.read-model.refresh-interval:1s}")
+    public void refreshQueued() {
+        if (!postViewService.isEnabled()) {
+            return;
+        }
+        int total = 0;
+        int refreshed;
+        do {
+            refreshed = postViewService.refreshQueued();
+            total += refreshed;
+        } while (refreshed == postViewService.refreshBatchSize());
+
+        if (total > 0) {
+            log.debug("Post read model refresh rendered {} posts", total);
+        }
+    }
+
+    /**
+     * Render published posts that are missing from the read model, or empty it when disabled.
+     * Runs in the background, one transaction per chunk.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!postViewService.isEnabled()) {
+            postViewService.clear();
+            return;
+        }
+
+        long rendered = 0;
+        long afterId = 0;
+        List<Long> ids;
+        while (!(ids = postViewService.backfill(afterId)).isEmpty()) {
+            rendered += ids.size();
+            afterId = ids.get(ids.size() - 1);
+        }
+        log.info("Post read model backfill rendered {} posts", rendered);
+    }
+}
@@ -0,0 +1,218 @@
+package de.ityreh.home.blog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ityreh.home.blog.config.MetricsConfig;
+import de.ityreh.home.blog.entity.Post;
+import de.ityreh.home.blog.entity.PostStatus;
+import de.ityreh.home.blog.entity.PostView;
+import de.ityreh.home.blog.repository.PostRepository;
+import de.ityreh.home.blog.repository.PostViewRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Service class for the post read model.
+ * <p>
+ * When {@code blog.read-model.enabled} is set, the rendered JSON response of every published
+ * post is kept in {@code post_views}, so reading a post is a single primary-key lookup.
+ * A change to the post or anything embedded in it only queues the post in
+ * {@code post_view_refreshes}, in the changing transaction; {@link PostViewRefresher}
+ * re-renders queued posts in the background. Queued and unpublished posts are served by the
+ * regular read path, so a stale row is never served.
+ */
+@Service
+@Transactional
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+@Slf4j
+public class PostViewService {
+
+    /**
+     * Number of posts rendered per persistence context, bounding memory for large refreshes.
+     */
+    private static final int REFRESH_CHUNK_SIZE = 100;
+
+    /**
+     * Number of posts queued per statement, bounding the number of bind parameters.
+     */
+    private static final int REQUEST_CHUNK_SIZE = 1000;
+
+    private final PostViewRepository postViewRepository;
+    private final PostRepository postRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${blog.read-model.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * Check whether the read model is maintained and served.
+     *
+     * @return whether the read model is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the rendered response of a post.
+     *
+     * @param id the post ID
+     * @return the rendered post, or empty if the read model is disabled, has no row for the post
+     * or the row is waiting to be refreshed
+     */
+    @Transactional(readOnly = true)
+    public Optional<PostView> findPostView(Long id) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return postViewRepository.findFreshById(id);
+    }
+
+    /**
+     * Queue the given posts for re-rendering, as part of the transaction that changed them.
+     * Nothing is rendered here, so the changing transaction only writes the queue rows.
+     *
+     * @param postIds the post IDs
+     */
+    public void requestRefresh(Collection<Long> postIds) {
+        if (!enabled || postIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = new ArrayList<>(postIds);
+        for (int from = 0; from < ids.size(); from += REQUEST_CHUNK_SIZE) {
+            postViewRepository.requestRefresh(ids.subList(from, Math.min(from + REQUEST_CHUNK_SIZE, ids.size())), now);
+        }
+    }
+
+    /**
+     * Queue the posts carrying a tag for re-rendering, with one statement.
+     * Must run before the tag is removed from the posts.
+     *
+     * @param tagId the tag ID
+     */
+    public void requestRefreshByTag(Long tagId) {
+        if (enabled) {
+            postViewRepository.requestRefreshByTagId(tagId, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Queue the posts in a category for re-rendering, with one statement.
+     * Must run before the posts are moved out of the category.
+     *
+     * @param categoryId the category ID
+     */
+    public void requestRefreshByCategory(Long categoryId) {
+        if (enabled) {
+            postViewRepository.requestRefreshByCategoryId(categoryId, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Queue the posts of an author for re-rendering, with one statement.
+     *
+     * @param authorId the author's ID
+     */
+    public void requestRefreshByAuthor(Long authorId) {
+        if (enabled) {
+            postViewRepository.requestRefreshByAuthorId(authorId, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Re-render a batch of queued posts and remove them from the queue.
+     * Queue rows are claimed with locks that other instances skip.
+     *
+     * @return the number of re-rendered posts, less than a full batch once the queue is drained
+     */
+    public int refreshQueued() {
+        List<Long> ids = postViewRepository.claimRefreshes(REFRESH_CHUNK_SIZE);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        refresh(ids);
+        postViewRepository.deleteRefreshes(ids);
+        return ids.size();
+    }
+
+    /**
+     * Batch size of {@link #refreshQueued()}.
+     *
+     * @return the maximum number of posts re-rendered per call
+     */
+    public int refreshBatchSize() {
+        return REFRESH_CHUNK_SIZE;
+    }
+
+    /**
+     * Re-render the given posts in the current transaction, which must not hold other changes.
+     * Published posts are written, all others (including deleted ones) are removed.
+     */
+    private void refresh(Collection<Long> postIds) {
+        log.debug("Refreshing {} post views", postIds.size());
+
+        List<Long> ids = new ArrayList<>(postIds);
+        for (int from = 0; from < ids.size(); from += REFRESH_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, ids.size()));
+            Set<Long> unpublished = new HashSet<>(chunk);
+
+            for (Post post : postRepository.findByIdIn(chunk)) {
+                if (post.getStatus() == PostStatus.PUBLISHED) {
+                    postViewRepository.upsert(post.getId(), render(post));
+                    unpublished.remove(post.getId());
+                }
+            }
+            if (!unpublished.isEmpty()) {
+                postViewRepository.deleteByPostIds(unpublished);
+            }
+            entityManager.clear();
+        }
+    }
+
+    /**
+     * Render published posts that have no row yet, e.g. after the read model was enabled.
+     *
+     * @param afterId only consider posts with a greater ID
+     * @return the IDs of the rendered posts, in ascending order
+     */
+    public List<Long> backfill(long afterId) {
+        List<Long> ids = postViewRepository.findMissingPostIds(afterId, REFRESH_CHUNK_SIZE);
+        if (!ids.isEmpty()) {
+            refresh(ids);
+        }
+        return ids;
+    }
+
+    /**
+     * Remove all rows and queued refreshes, so that no stale response survives a period with
+     * the read model disabled.
+     */
+    public void clear() {
+        postViewRepository.deleteAllInBatch();
+        postViewRepository.deleteAllRefreshes();
+    }
+
+    private String render(Post post) {
+        try {
+            return objectMapper.writeValueAsString(ResponseMapper.toResponseDto(post));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to render post with ID: " + post.getId(), ex);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package de.ityreh.home.blog.service;
+
+import de.ityreh.home.blog.dto.CategoryResponseDto;
+import de.ityreh.home.blog.dto.PostResponseDto;
+import de.ityreh.home.blog.dto.TagResponseDto;
+import de.ityreh.home.blog.dto.UserResponseDto;
+import de.ityreh.home.blog.entity.Category;
+import de.ityreh.home.blog.entity.Post;
+import de.ityreh.home.blog.entity.Tag;
+import de.ityreh.home.blog.entity.User;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Converts entities to the response DTOs of the services.
+ * The mappers only read the given entities, so they are plain static functions; associations
+ * must be loaded before they are called.
+ */
+final class ResponseMapper {
+
+    private ResponseMapper() {
+    }
+
+    /**
+     * Convert Post entity to PostResponseDto, embedding its author, category and tags.
+     */
+    static PostResponseDto toResponseDto(Post post) {
+        UserResponseDto authorDto = UserResponseDto.builder()
+                .id(post.getAuthor().getId())
+                .username(post.getAuthor().getUsername())
+                .email(post.getAuthor().getEmail())
+                .firstName(post.getAuthor().getFirstName())
+                .lastName(post.getAuthor().getLastName())
+                .build();
+
+        CategoryResponseDto categoryDto = null;
+        if (post.getCategory() != null) {
+            categoryDto = CategoryResponseDto.builder()
+                    .id(post.getCategory().getId())
+                    .name(post.getCategory().getName())
+                    .description(post.getCategory().getDescription())
+                    .build();
+        }
+
+        Set<TagResponseDto> tagDtos = post.getTags().stream()
+                .map(tag -> TagResponseDto.builder()
+                        .id(tag.getId())
+                        .name(tag.getName())
+                        .description(tag.getDescription())
+                        .build())
+                .collect(Collectors.toSet());
+
+        return PostResponseDto.builder()
+                .id(post.getId())
+                .title(post.getTitle())
+                .content(post.getContent())
+                .status(post.getStatus())
+                .author(authorDto)
+                .category(categoryDto)
+                .tags(tagDtos)
+                .createdAt(post.getCreatedAt())
+                .updatedAt(post.getUpdatedAt())
+                .publishedAt(post.getPublishedAt())
+                .scheduledAt(post.getScheduledAt())
+                .build();
+    }
+
+    /**
+     * Convert User entity to UserResponseDto.
+     */
+    static UserResponseDto toResponseDto(User user) {
+        return UserResponseDto.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .enabled(user.getEnabled())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Convert Category entity to CategoryResponseDto.
+     */
+    static CategoryResponseDto toResponseDto(Category category) {
+        return CategoryResponseDto.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .description(category.getDescription())
+                .postCount(category.getPostCount())
+                .createdAt(category.getCreatedAt())
+                .updatedAt(category.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Convert Tag entity to TagResponseDto.
+     */
+    static TagResponseDto toResponseDto(Tag tag) {
+        return TagResponseDto.builder()
+                .id(tag.getId())
+                .name(tag.getName())
+                .description(tag.getDescription())
+                .postCount(tag.getPostCount())
+                .createdAt(tag.getCreatedAt())
+                .updatedAt(tag.getUpdatedAt())
+                .build();
+    }
+}
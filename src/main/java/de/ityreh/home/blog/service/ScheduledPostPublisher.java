@@ -0,0 +1,44 @@
+package de.ityreh.home.blog.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically publishes scheduled posts whose time has come.
+ * <p>
+ * Every instance may run the publisher: batches are claimed with row locks that other
+ * instances skip. Each batch is committed on its own, so a large backlog is published
+ * in short transactions. Disabled with {@code blog.scheduled-publishing.enabled=false}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "blog.scheduled-publishing", name = "enabled", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduledPostPublisher {
+
+    private final PostService postService;
+
+    @Value("${blog.scheduled-publishing.batch-size:100}")
+    private int batchSize;
+
+    /**
+     * Publish due posts batch by batch until none are left.
+     */
+    @Scheduled(fixedDelayString = "${blog.scheduled-publishing.interval:30s}")
+    public void publishDuePosts() {
+        int total = 0;
+        int published;
+        do {
+            published = postService.publishDueScheduledPosts(batchSize);
+            total += published;
+        } while (published == batchSize);
+
+        if (total > 0) {
+            log.debug("Scheduled publishing run published {} posts", total);
+        }
+    }
+}
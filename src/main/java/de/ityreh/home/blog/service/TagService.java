@@ -1,15 +1,23 @@
 package de.ityreh.home.blog.service;
 
+import de.ityreh.home.blog.config.MetricsConfig;
 import de.ityreh.home.blog.dto.TagCreateDto;
 import de.ityreh.home.blog.dto.TagResponseDto;
 import de.ityreh.home.blog.dto.TagUpdateDto;
 import de.ityreh.home.blog.entity.Tag;
+import de.ityreh.home.blog.event.PostsChangedEvent;
+import de.ityreh.home.blog.event.TagsChangedEvent;
+import de.ityreh.home.blog.repository.CollectionVersion;
+import de.ityreh.home.blog.repository.PostRepository;
 import de.ityreh.home.blog.repository.TagRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -17,11 +25,15 @@ import java.util.List;
  */
 @Service
 @Transactional
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Slf4j
 public class TagService {
 
     private final TagRepository tagRepository;
+    private final PostRepository postRepository;
+    private final PostViewService postViewService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new tag.
@@ -42,9 +54,10 @@ public class TagService {
                 .build();
 
         tag = tagRepository.save(tag);
+        eventPublisher.publishEvent(new TagsChangedEvent(tag.getId()));
         log.info("Tag created successfully with ID: {}", tag.getId());
 
-        return toResponseDto(tag);
+        return ResponseMapper.toResponseDto(tag);
     }
 
     /**
@@ -58,7 +71,7 @@ public class TagService {
         log.debug("Fetching tag with ID: {}", id);
         Tag tag = tagRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Tag not found with ID: " + id));
-        return toResponseDto(tag);
+        return ResponseMapper.toResponseDto(tag);
     }
 
     /**
@@ -72,7 +85,29 @@ public class TagService {
         log.debug("Fetching tag with name: {}", name);
         Tag tag = tagRepository.findByName(name)
                 .orElseThrow(() -> new IllegalArgumentException("Tag not found with name: " + name));
-        return toResponseDto(tag);
+        return ResponseMapper.toResponseDto(tag);
+    }
+
+    /**
+     * Get the last modification time of a tag.
+     *
+     * @param id the tag ID
+     * @return the last modification time
+     */
+    @Transactional(readOnly = true)
+    public LocalDateTime getTagLastModified(Long id) {
+        return tagRepository.findLastModifiedById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Tag not found with ID: " + id));
+    }
+
+    /**
+     * Get the version of the whole tag collection.
+     *
+     * @return the collection version
+     */
+    @Transactional(readOnly = true)
+    public CollectionVersion getTagsVersion() {
+        return tagRepository.findCollectionVersion();
     }
 
     /**
@@ -84,7 +119,7 @@ public class TagService {
     public List<TagResponseDto> getAllTags() {
         log.debug("Fetching all tags");
         return tagRepository.findAll().stream()
-                .map(this::toResponseDto)
+                .map(ResponseMapper::toResponseDto)
                 .toList();
     }
 
@@ -113,37 +148,58 @@ public class TagService {
         }
 
         tag = tagRepository.save(tag);
+        eventPublisher.publishEvent(new TagsChangedEvent(id));
+        // Posts embed the tag, so their cached responses are stale now
+        if (tag.getPostCount() > PostsChangedEvent.MAX_LISTED_POSTS) {
+            postViewService.requestRefreshByTag(id);
+            eventPublisher.publishEvent(PostsChangedEvent.many());
+        } else {
+            eventPublisher.publishEvent(PostsChangedEvent.of(postRepository.findIdsByTagId(id)));
+        }
         log.info("Tag updated successfully with ID: {}", tag.getId());
 
-        return toResponseDto(tag);
+        return ResponseMapper.toResponseDto(tag);
     }
 
     /**
-     * Delete a tag.
+     * Delete a tag, removing it from all posts or merging it into a replacement tag.
+     * Only the join rows are updated, with set-based statements; posts are never loaded or written.
      *
-     * @param id the tag ID
+     * @param id            the tag ID
+     * @param replacementId the tag that takes over the tag's posts, or {@code null} to only remove it
      */
-    public void deleteTag(Long id) {
-        log.debug("Deleting tag with ID: {}", id);
+    public void deleteTag(Long id, Long replacementId) {
+        log.debug("Deleting tag with ID: {} (replacement: {})", id, replacementId);
 
         if (!tagRepository.existsById(id)) {
             throw new IllegalArgumentException("Tag not found with ID: " + id);
         }
+        if (replacementId != null) {
+            if (replacementId.equals(id)) {
+                throw new IllegalArgumentException("A tag cannot replace itself");
+            }
+            if (!tagRepository.existsById(replacementId)) {
+                throw new IllegalArgumentException("Tag not found with ID: " + replacementId);
+            }
+        }
 
+        // The posts embed their tags, so they are modified too. Neither their rows nor their IDs
+        // are touched: one recorded deletion time changes their ETags, the read model queues them
+        // with one statement, and caches and feeds are dropped as a whole
+        LocalDateTime now = LocalDateTime.now();
+        tagRepository.recordDeletion(now);
+        postViewService.requestRefreshByTag(id);
+
+        if (replacementId != null) {
+            int moved = postRepository.moveTag(id, replacementId);
+            tagRepository.adjustPostCount(List.of(replacementId), moved, now);
+            eventPublisher.publishEvent(new TagsChangedEvent(replacementId));
+        }
+        postRepository.deletePostTagsByTagId(id);
+
+        eventPublisher.publishEvent(PostsChangedEvent.many());
+        eventPublisher.publishEvent(new TagsChangedEvent(id));
         tagRepository.deleteById(id);
         log.info("Tag deleted successfully with ID: {}", id);
     }
-
-    /**
-     * Convert Tag entity to TagResponseDto.
-     */
-    private TagResponseDto toResponseDto(Tag tag) {
-        return TagResponseDto.builder()
-                .id(tag.getId())
-                .name(tag.getName())
-                .description(tag.getDescription())
-                .createdAt(tag.getCreatedAt())
-                .updatedAt(tag.getUpdatedAt())
-                .build();
-    }
 }
@@ -0,0 +1,78 @@
+package de.ityreh.home.blog.service;
+
+import de.ityreh.home.blog.event.UserDeletionRequestedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Deletes a user marked for deletion once that has been committed.
+ * <p>
+ * Posts are removed with set-based statements in chunks, one short transaction per chunk,
+ * so no transaction holds locks on more than a chunk of rows. Progress is reported to the
+ * {@link UserDeletionTracker}; a failed deletion can be retried by deleting the user again.
+ * <p>
+ * A deletion that makes no progress for {@code blog.user-deletion.stall-timeout}, e.g. because
+ * its instance was stopped, is taken over by the next instance that checks. Chunks delete
+ * whatever posts are left, so resuming repeats no work.
+ */
+@Component
+@Slf4j
+public class UserDeletionJob {
+
+    private final UserService userService;
+    private final UserDeletionTracker tracker;
+    private final int chunkSize;
+    private final Duration stallTimeout;
+    private final Duration retention;
+
+    public UserDeletionJob(UserService userService, UserDeletionTracker tracker,
+                           @Value("${blog.user-deletion.chunk-size:500}") int chunkSize,
+                           @Value("${blog.user-deletion.stall-timeout:5m}") Duration stallTimeout,
+                           @Value("${blog.user-deletion.retention:1h}") Duration retention) {
+        this.userService = userService;
+        this.tracker = tracker;
+        this.chunkSize = chunkSize;
+        this.stallTimeout = stallTimeout;
+        this.retention = retention;
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void onDeletionRequested(UserDeletionRequestedEvent event) {
+        delete(event.userId());
+    }
+
+    /**
+     * Resume stalled deletions and purge the progress of long finished ones.
+     */
+    @Scheduled(fixedDelayString = "${blog.user-deletion.check-interval:1m}")
+    public void resumeStalledDeletions() {
+        for (Long userId : tracker.claimStalled(stallTimeout)) {
+            log.info("Resuming stalled deletion of user with ID: {}", userId);
+            delete(userId);
+        }
+        tracker.purgeFinished(retention);
+    }
+
+    private void delete(Long userId) {
+        tracker.running(userId);
+        try {
+            int deleted;
+            while ((deleted = userService.deletePostChunk(userId, chunkSize)) > 0) {
+                tracker.advance(userId, deleted);
+            }
+            userService.deleteUserWithoutPosts(userId);
+            tracker.completed(userId);
+            log.info("User deleted successfully with ID: {}", userId);
+        } catch (RuntimeException ex) {
+            log.error("Failed to delete user with ID: {}", userId, ex);
+            tracker.failed(userId, ex.getMessage());
+        }
+    }
+}
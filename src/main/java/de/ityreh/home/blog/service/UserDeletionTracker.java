@@ -0,0 +1,110 @@
+package de.ityreh.home.blog.service;
+
+import de.ityreh.home.blog.dto.UserDeletionStatusDto;
+import de.ityreh.home.blog.entity.UserDeletion;
+import de.ityreh.home.blog.entity.UserDeletionState;
+import de.ityreh.home.blog.repository.UserDeletionRepository;
+import de.ityreh.home.blog.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Progress of background user deletions, stored in {@code user_deletions} so that every
+ * instance sees it and it survives restarts. Finished deletions are kept for a while.
+ * Each progress update is a single statement in its own transaction.
+ */
+@Component
+@Transactional
+@RequiredArgsConstructor
+public class UserDeletionTracker {
+
+    private final UserDeletionRepository userDeletionRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * Get the progress of a user deletion.
+     *
+     * @param userId the user ID
+     * @return the deletion status, empty if none was requested recently
+     */
+    @Transactional(readOnly = true)
+    public Optional<UserDeletionStatusDto> find(Long userId) {
+        return userDeletionRepository.findById(userId).map(UserDeletionTracker::toStatusDto);
+    }
+
+    UserDeletionStatusDto start(Long userId, long totalPosts) {
+        LocalDateTime now = LocalDateTime.now();
+        UserDeletion deletion = userDeletionRepository.save(UserDeletion.builder()
+                .userId(userId)
+                .state(UserDeletionState.PENDING)
+                .totalPosts(totalPosts)
+                .deletedPosts(0L)
+                .startedAt(now)
+                .progressedAt(now)
+                .build());
+        return toStatusDto(deletion);
+    }
+
+    void running(Long userId) {
+        userDeletionRepository.updateState(userId, UserDeletionState.RUNNING, LocalDateTime.now());
+    }
+
+    void advance(Long userId, long deletedPosts) {
+        userDeletionRepository.advance(userId, deletedPosts, LocalDateTime.now());
+    }
+
+    void completed(Long userId) {
+        userDeletionRepository.finish(userId, UserDeletionState.COMPLETED, null, LocalDateTime.now());
+    }
+
+    /**
+     * Record a failed deletion and release the user, so that the deletion can be requested again.
+     */
+    void failed(Long userId, String error) {
+        userDeletionRepository.finish(userId, UserDeletionState.FAILED, error, LocalDateTime.now());
+        userRepository.clearDeletionRequest(userId);
+    }
+
+    /**
+     * Take over unfinished deletions that made no progress for the given time, e.g. because the
+     * instance running them stopped. Each one is handed to exactly one caller.
+     *
+     * @param stallTimeout how long a deletion may go without progress
+     * @return the IDs of the users whose deletion the caller now runs
+     */
+    List<Long> claimStalled(Duration stallTimeout) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(stallTimeout);
+        return userDeletionRepository.findStalledUserIds(cutoff).stream()
+                .filter(userId -> userDeletionRepository.claimStalled(userId, cutoff, now) == 1)
+                .toList();
+    }
+
+    /**
+     * Delete the progress of deletions that finished longer ago than the retention.
+     *
+     * @param retention how long finished deletions are kept
+     * @return the number of deleted rows
+     */
+    int purgeFinished(Duration retention) {
+        return userDeletionRepository.deleteFinishedBefore(LocalDateTime.now().minus(retention));
+    }
+
+    private static UserDeletionStatusDto toStatusDto(UserDeletion deletion) {
+        return UserDeletionStatusDto.builder()
+                .userId(deletion.getUserId())
+                .state(deletion.getState())
+                .totalPosts(deletion.getTotalPosts())
+                .deletedPosts(deletion.getDeletedPosts())
+                .startedAt(deletion.getStartedAt())
+                .finishedAt(deletion.getFinishedAt())
+                .error(deletion.getError())
+                .build();
+    }
+}
@@ -1,16 +1,29 @@
 package de.ityreh.home.blog.service;
 
+import de.ityreh.home.blog.config.MetricsConfig;
 import de.ityreh.home.blog.dto.UserCreateDto;
+import de.ityreh.home.blog.dto.UserDeletionStatusDto;
 import de.ityreh.home.blog.dto.UserResponseDto;
 import de.ityreh.home.blog.dto.UserUpdateDto;
 import de.ityreh.home.blog.entity.User;
+import de.ityreh.home.blog.event.PostCountsChangedEvent;
+import de.ityreh.home.blog.event.PostsChangedEvent;
+import de.ityreh.home.blog.event.UserChangedEvent;
+import de.ityreh.home.blog.event.UserDeletionRequestedEvent;
+import de.ityreh.home.blog.repository.CategoryRepository;
+import de.ityreh.home.blog.repository.PostRepository;
+import de.ityreh.home.blog.repository.TagRepository;
 import de.ityreh.home.blog.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -18,12 +31,19 @@ import java.util.List;
  */
 @Service
 @Transactional
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Slf4j
 public class UserService {
 
     private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final PostViewService postViewService;
+    private final TagRepository tagRepository;
+    private final CategoryRepository categoryRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserDeletionTracker deletionTracker;
 
     /**
      * Create a new user.
@@ -54,7 +74,7 @@ public class UserService {
         user = userRepository.save(user);
         log.info("User created successfully with ID: {}", user.getId());
 
-        return toResponseDto(user);
+        return ResponseMapper.toResponseDto(user);
     }
 
     /**
@@ -68,7 +88,7 @@ public class UserService {
         log.debug("Fetching user with ID: {}", id);
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + id));
-        return toResponseDto(user);
+        return ResponseMapper.toResponseDto(user);
     }
 
     /**
@@ -82,7 +102,7 @@ public class UserService {
         log.debug("Fetching user with username: {}", username);
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with username: " + username));
-        return toResponseDto(user);
+        return ResponseMapper.toResponseDto(user);
     }
 
     /**
@@ -94,7 +114,7 @@ public class UserService {
     public List<UserResponseDto> getAllUsers() {
         log.debug("Fetching all users");
         return userRepository.findAll().stream()
-                .map(this::toResponseDto)
+                .map(ResponseMapper::toResponseDto)
                 .toList();
     }
 
@@ -111,60 +131,140 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + id));
 
+        boolean accountChanged = false;
+        // Whether a field embedded in the author of post responses changed
+        boolean authorChanged = false;
+
         if (updateDto.getEmail() != null && !updateDto.getEmail().equals(user.getEmail())) {
             if (userRepository.existsByEmail(updateDto.getEmail())) {
                 throw new IllegalArgumentException("Email already exists: " + updateDto.getEmail());
             }
             user.setEmail(updateDto.getEmail());
+            accountChanged = true;
+            authorChanged = true;
         }
 
-        if (updateDto.getFirstName() != null) {
+        if (updateDto.getFirstName() != null && !updateDto.getFirstName().equals(user.getFirstName())) {
             user.setFirstName(updateDto.getFirstName());
+            authorChanged = true;
         }
 
-        if (updateDto.getLastName() != null) {
+        if (updateDto.getLastName() != null && !updateDto.getLastName().equals(user.getLastName())) {
             user.setLastName(updateDto.getLastName());
+            authorChanged = true;
         }
 
-        if (updateDto.getEnabled() != null) {
+        if (updateDto.getEnabled() != null && !updateDto.getEnabled().equals(user.getEnabled())) {
             user.setEnabled(updateDto.getEnabled());
+            if (!user.getEnabled()) {
+                user.revokeTokens();
+            }
+            accountChanged = true;
         }
 
         user = userRepository.save(user);
+        if (accountChanged) {
+            // Evicts the cached user details and, if the account was disabled, its cached token cutoff
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername(), !Boolean.TRUE.equals(user.getEnabled())));
+        }
+        // Posts embed the user, so their cached responses are stale now
+        if (authorChanged) {
+            if (postRepository.countByAuthorId(id) > PostsChangedEvent.MAX_LISTED_POSTS) {
+                postViewService.requestRefreshByAuthor(id);
+                eventPublisher.publishEvent(PostsChangedEvent.many());
+            } else {
+                eventPublisher.publishEvent(PostsChangedEvent.of(postRepository.findIdsByAuthorId(id)));
+            }
+        }
         log.info("User updated successfully with ID: {}", user.getId());
 
-        return toResponseDto(user);
+        return ResponseMapper.toResponseDto(user);
     }
 
     /**
-     * Delete a user.
+     * Mark a user for deletion and delete them in the background.
+     * <p>
+     * The account is disabled and its tokens are revoked right away. The posts and the account
+     * itself are removed by {@link UserDeletionJob} once this transaction commits. If a deletion of
+     * the user is already under way, its status is returned and no new one is started. The user
+     * row is locked while this is decided, so concurrent requests start at most one deletion.
      *
      * @param id the user ID
+     * @return the status of the deletion
      */
-    public void deleteUser(Long id) {
-        log.debug("Deleting user with ID: {}", id);
+    public UserDeletionStatusDto deleteUser(Long id) {
+        log.debug("Requesting deletion of user with ID: {}", id);
+
+        User user = userRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + id));
 
-        if (!userRepository.existsById(id)) {
-            throw new IllegalArgumentException("User not found with ID: " + id);
+        if (user.getDeletionRequestedAt() != null) {
+            return deletionTracker.find(id)
+                    .orElseThrow(() -> new IllegalStateException("Deletion of user with ID " + id + " has no status"));
         }
 
-        userRepository.deleteById(id);
-        log.info("User deleted successfully with ID: {}", id);
+        user.setDeletionRequestedAt(LocalDateTime.now());
+        user.setEnabled(false);
+        user.revokeTokens();
+        eventPublisher.publishEvent(new UserChangedEvent(id, user.getUsername(), true));
+        eventPublisher.publishEvent(new UserDeletionRequestedEvent(id));
+        log.info("User deletion requested with ID: {}", id);
+
+        return deletionTracker.start(id, postRepository.countByAuthorId(id));
     }
 
     /**
-     * Convert User entity to UserResponseDto.
+     * Get the progress of a recently requested user deletion.
+     *
+     * @param id the user ID
+     * @return the status of the deletion
      */
-    private UserResponseDto toResponseDto(User user) {
-        return UserResponseDto.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .enabled(user.getEnabled())
-                .createdAt(user.getCreatedAt())
-                .updatedAt(user.getUpdatedAt())
-                .build();
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserDeletionStatusDto getDeletionStatus(Long id) {
+        return deletionTracker.find(id)
+                .orElseThrow(() -> new IllegalArgumentException("No deletion requested for user with ID: " + id));
+    }
+
+    /**
+     * Delete the next chunk of a user's posts with set-based statements, without loading them.
+     *
+     * @param id    the user ID
+     * @param limit the maximum number of posts to delete
+     * @return the number of deleted posts, 0 once the user has none left
+     */
+    public int deletePostChunk(Long id, int limit) {
+        List<Long> postIds = postRepository.findIdPageByAuthorId(id, limit);
+        if (postIds.isEmpty()) {
+            return 0;
+        }
+
+        // The posts no longer count towards their tags and category
+        LocalDateTime now = LocalDateTime.now();
+        tagRepository.subtractPosts(postIds, now);
+        categoryRepository.subtractPosts(postIds, now);
+        eventPublisher.publishEvent(new PostCountsChangedEvent(true, true));
+
+        postRepository.deletePostTagsByPostIds(postIds);
+        postRepository.deleteAllByIdInBatch(postIds);
+        eventPublisher.publishEvent(PostsChangedEvent.of(postIds));
+        log.debug("Deleted {} posts of user with ID: {}", postIds.size(), id);
+        return postIds.size();
+    }
+
+    /**
+     * Delete a user whose posts have all been deleted, unless the user is already gone.
+     *
+     * @param id the user ID
+     */
+    public void deleteUserWithoutPosts(Long id) {
+        // A resumed deletion finds the user gone if the previous run stopped right after deleting it
+        User user = userRepository.findById(id).orElse(null);
+        if (user == null) {
+            return;
+        }
+
+        eventPublisher.publishEvent(new UserChangedEvent(id, user.getUsername(), true));
+        // The posts collection is empty now, so cascading the removal loads no posts
+        userRepository.delete(user);
     }
 }
@@ -0,0 +1,157 @@
+package de.ityreh.home.blog.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.ityreh.home.blog.event.CategoriesChangedEvent;
+import de.ityreh.home.blog.event.PostCountsChangedEvent;
+import de.ityreh.home.blog.event.PostsChangedEvent;
+import de.ityreh.home.blog.event.TagsChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of rendered list responses, stored uncompressed and pre-compressed with gzip and deflate.
+ * <p>
+ * Entries are keyed by request URI and query string and dropped after a committed change
+ * to anything they contain: post changes affect the post listings, post count changes the tag
+ * or category list, and tag and category changes affect their list and the embedding posts.
+ * Editing a post therefore leaves the tag and category lists in place.
+ * <p>
+ * Invalidation only reaches the instance that made the change. Other instances serve their
+ * entries until they expire after {@code blog.response-cache.ttl}, which bounds the staleness.
+ */
+@Component
+@Slf4j
+public class CompressedResponseCache {
+
+    static final String POSTS = "/api/posts";
+    static final String TAGS = "/api/tags";
+    static final String CATEGORIES = "/api/categories";
+
+    private final Cache<String, CachedResponse> cache;
+
+    /**
+     * Incremented on every invalidation. A response is only stored if no invalidation
+     * happened while it was rendered, so a read racing a commit cannot re-cache stale data.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public CompressedResponseCache(
+            @Value("${blog.response-cache.maximum-size:64MB}") DataSize maximumSize,
+            @Value("${blog.response-cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((String key, CachedResponse response) -> response.weight())
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Get the current generation, to be passed to {@link #put} once the response is rendered.
+     *
+     * @return the generation
+     */
+    long generation() {
+        return generation.get();
+    }
+
+    CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    void put(String key, CachedResponse response, long renderedInGeneration) {
+        if (generation.get() == renderedInGeneration) {
+            cache.put(key, response);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onPostsChanged(PostsChangedEvent event) {
+        invalidate(POSTS);
+    }
+
+    @TransactionalEventListener
+    public void onPostCountsChanged(PostCountsChangedEvent event) {
+        if (event.tags() && event.categories()) {
+            invalidate(TAGS, CATEGORIES);
+        } else if (event.tags()) {
+            invalidate(TAGS);
+        } else if (event.categories()) {
+            invalidate(CATEGORIES);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTagsChanged(TagsChangedEvent event) {
+        invalidate(TAGS, POSTS);
+    }
+
+    @TransactionalEventListener
+    public void onCategoriesChanged(CategoriesChangedEvent event) {
+        invalidate(CATEGORIES, POSTS);
+    }
+
+    private void invalidate(String... prefixes) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> {
+            for (String prefix : prefixes) {
+                if (key.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+        log.debug("Invalidated cached responses under {}", (Object) prefixes);
+    }
+
+    /**
+     * A rendered response in every supported encoding.
+     *
+     * @param contentType the content type
+     * @param etag        the entity tag, may be {@code null}
+     * @param identity    the uncompressed body
+     * @param gzip        the gzip-compressed body
+     * @param deflate     the deflate-compressed body
+     */
+    record CachedResponse(String contentType, String etag, byte[] identity, byte[] gzip, byte[] deflate) {
+
+        static CachedResponse of(String contentType, String etag, byte[] body) {
+            return new CachedResponse(contentType, etag, body, gzip(body), deflate(body));
+        }
+
+        int weight() {
+            return identity.length + gzip.length + deflate.length;
+        }
+
+        private static byte[] gzip(byte[] body) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 32);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(body);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return out.toByteArray();
+        }
+
+        private static byte[] deflate(byte[] body) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 32);
+            try (DeflaterOutputStream deflate = new DeflaterOutputStream(out)) {
+                deflate.write(body);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return out.toByteArray();
+        }
+    }
+}
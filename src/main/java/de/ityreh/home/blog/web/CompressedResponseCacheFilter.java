@@ -0,0 +1,140 @@
+package de.ityreh.home.blog.web;
+
+import de.ityreh.home.blog.web.CompressedResponseCache.CachedResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Serves public list responses from the {@link CompressedResponseCache}.
+ * <p>
+ * On a miss the response is rendered as usual, stored once in every encoding and sent in the
+ * encoding the client accepts. On a hit the stored bytes are written as they are; nothing is
+ * serialised or compressed. Conditional requests are answered from the stored entity tag.
+ */
+@RequiredArgsConstructor
+public class CompressedResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+    private static final String DEFLATE = "deflate";
+
+    private final CompressedResponseCache cache;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getQueryString() == null
+                ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+
+        CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            write(cached, request, response);
+            return;
+        }
+
+        long generation = cache.generation();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        String contentType = wrapper.getContentType();
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || contentType == null
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        cached = CachedResponse.of(contentType, wrapper.getHeader(HttpHeaders.ETAG), wrapper.getContentAsByteArray());
+        cache.put(key, cached, generation);
+        write(cached, request, response);
+    }
+
+    private void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (cached.etag() != null) {
+            response.setHeader(HttpHeaders.ETAG, cached.etag());
+            String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+            if (ifNoneMatch != null && (ifNoneMatch.contains(cached.etag()) || ifNoneMatch.trim().equals("*"))) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+
+        byte[] body;
+        String encoding = negotiateEncoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (GZIP.equals(encoding)) {
+            body = cached.gzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        } else if (DEFLATE.equals(encoding)) {
+            body = cached.deflate();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, DEFLATE);
+        } else {
+            body = cached.identity();
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Pick gzip, then deflate, if the {@code Accept-Encoding} header allows it.
+     *
+     * @return the content coding, or {@code null} for the uncompressed body
+     */
+    static String negotiateEncoding(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        Boolean gzip = null;
+        Boolean deflate = null;
+        boolean any = false;
+        for (String part : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            boolean accepted = true;
+            for (int i = 1; i < tokens.length; i++) {
+                String parameter = tokens[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        accepted = Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException ex) {
+                        accepted = false;
+                    }
+                }
+            }
+            switch (coding) {
+                case GZIP, "x-gzip" -> gzip = accepted;
+                case DEFLATE -> deflate = accepted;
+                case "*" -> any = accepted;
+                default -> {
+                }
+            }
+        }
+        // Codings not listed explicitly are acceptable if "*" is
+        if (gzip == null) {
+            gzip = any;
+        }
+        if (deflate == null) {
+            deflate = any;
+        }
+        return gzip ? GZIP : deflate ? DEFLATE : null;
+    }
+}
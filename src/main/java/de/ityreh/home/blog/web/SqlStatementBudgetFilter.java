@@ -0,0 +1,126 @@
+package de.ityreh.home.blog.web;
+
+import de.ityreh.home.blog.config.SqlStatementBudgetProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements of each request and checks them against the statement budget.
+ * <p>
+ * The count is recorded as the {@code blog.sql.statements} distribution summary, tagged with
+ * method and URI pattern, and stored in the {@link #COUNT_ATTRIBUTE} request attribute. With
+ * {@code blog.sql.statement-budget.expose-header} it is also returned in the {@value #HEADER}
+ * response header. A request over budget logs a warning, or fails with an
+ * {@link IllegalStateException} if {@code blog.sql.statement-budget.fail-on-exceed} is set,
+ * so tests catch N+1 regressions.
+ * <p>
+ * Responses with a body are checked by {@link SqlStatementCountAdvice} before the body is
+ * written, so a request over budget is answered with an error instead of its regular response.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    /**
+     * Response header carrying the statement count.
+     */
+    public static final String HEADER = "X-SQL-Statement-Count";
+
+    /**
+     * Request attribute holding the final statement count as an {@link Integer}.
+     */
+    public static final String COUNT_ATTRIBUTE = SqlStatementBudgetFilter.class.getName() + ".COUNT";
+
+    /**
+     * Request attribute holding the filter, so that {@link SqlStatementCountAdvice} can reach it.
+     */
+    static final String FILTER_ATTRIBUTE = SqlStatementBudgetFilter.class.getName();
+
+    /**
+     * Request attribute set once a budget violation has been reported, so it is reported only once.
+     */
+    private static final String REPORTED_ATTRIBUTE = SqlStatementBudgetFilter.class.getName() + ".REPORTED";
+
+    private final SqlStatementBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        request.setAttribute(FILTER_ATTRIBUTE, this);
+        SqlStatementCounter.start();
+        int statements;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statements = SqlStatementCounter.current();
+            SqlStatementCounter.stop();
+        }
+        request.setAttribute(COUNT_ATTRIBUTE, statements);
+
+        // Responses with a body already got the header from SqlStatementCountAdvice
+        if (properties.exposeHeader() && !response.isCommitted()) {
+            response.setIntHeader(HEADER, statements);
+        }
+
+        String uri = uriPattern(request);
+        DistributionSummary.builder("blog.sql.statements")
+                .description("SQL statements per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements);
+
+        checkBudget(request, uri, statements, properties.failOnExceed());
+    }
+
+    /**
+     * Add the header and, in fail-on-exceed mode, check the budget right before a response body is written.
+     *
+     * @param request the current request
+     * @param headers the response headers, still writable
+     */
+    void beforeBodyWrite(HttpServletRequest request, HttpHeaders headers) {
+        int statements = SqlStatementCounter.current();
+        if (statements < 0) {
+            return;
+        }
+        if (properties.exposeHeader()) {
+            headers.set(HEADER, Integer.toString(statements));
+        }
+        if (properties.failOnExceed()) {
+            checkBudget(request, uriPattern(request), statements, true);
+        }
+    }
+
+    private void checkBudget(HttpServletRequest request, String uri, int statements, boolean fail) {
+        int budget = properties.budgetFor(request.getMethod(), uri);
+        if (statements <= budget || request.getAttribute(REPORTED_ATTRIBUTE) != null) {
+            return;
+        }
+        request.setAttribute(REPORTED_ATTRIBUTE, Boolean.TRUE);
+
+        String message = String.format("%s %s issued %d SQL statements, budget is %d",
+                request.getMethod(), uri, statements, budget);
+        if (fail) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    private static String uriPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+}
@@ -0,0 +1,36 @@
+package de.ityreh.home.blog.web;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Hands a response to the {@link SqlStatementBudgetFilter} before its body is written.
+ * The filter cannot add the {@value SqlStatementBudgetFilter#HEADER} header or fail the
+ * request afterwards because the response is committed by then.
+ */
+@ControllerAdvice
+public class SqlStatementCountAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(SqlStatementBudgetFilter.FILTER_ATTRIBUTE)
+                instanceof SqlStatementBudgetFilter filter) {
+            filter.beforeBodyWrite(servletRequest.getServletRequest(), response.getHeaders());
+        }
+        return body;
+    }
+}
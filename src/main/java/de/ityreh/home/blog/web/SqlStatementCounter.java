@@ -0,0 +1,48 @@
+package de.ityreh.home.blog.web;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ * <p>
+ * Counting only happens between {@link #start()} and {@link #stop()}, which
+ * {@link SqlStatementBudgetFilter} calls around each request; statements issued
+ * on other threads (startup, scheduled or async work) are not counted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    /**
+     * Start counting on the current thread, discarding any previous count.
+     */
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * Get the number of statements counted since {@link #start()}.
+     *
+     * @return the count, or {@code -1} if counting is not active on this thread
+     */
+    public static int current() {
+        int[] count = COUNT.get();
+        return count == null ? -1 : count[0];
+    }
+
+    /**
+     * Stop counting on the current thread.
+     */
+    public static void stop() {
+        COUNT.remove();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
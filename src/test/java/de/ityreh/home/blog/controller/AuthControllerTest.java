@@ -0,0 +1,132 @@
+package de.ityreh.home.blog.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import de.ityreh.home.blog.config.SecurityConfig;
+import de.ityreh.home.blog.config.TokenProperties;
+import de.ityreh.home.blog.dto.UserUpdateDto;
+import de.ityreh.home.blog.service.UserService;
+import de.ityreh.home.blog.support.TestDataSeeder;
+import de.ityreh.home.blog.support.TestDataSeeder.Seeded;
+import de.ityreh.home.blog.support.TestDataSeeder.Size;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bearer tokens issued at login, and their revocation when the account is disabled or deleted.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private long userId;
+    private String username;
+
+    @BeforeEach
+    void seed() {
+        Seeded seeded = new TestDataSeeder(jdbc).seed(Size.SMALL);
+        userId = seeded.firstUserId();
+        username = "seed_user_" + userId;
+    }
+
+    @Test
+    void issuesATokenThatAuthenticatesRequests() throws Exception {
+        login(username, TestDataSeeder.PASSWORD)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andExpect(jsonPath("$.expiresIn").value(Duration.ofMinutes(15).toSeconds()));
+        String token = token();
+
+        mockMvc.perform(get("/api/users/{id}", userId).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/{id}", userId))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/users/{id}", userId).header(HttpHeaders.AUTHORIZATION, "Bearer " + token + "x"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void refusesWrongCredentials() throws Exception {
+        login(username, "wrong").andExpect(status().isUnauthorized());
+        login("nobody", TestDataSeeder.PASSWORD).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void disablingTheUserRevokesTheirTokens() throws Exception {
+        String token = token();
+        // The first request caches the user's cutoff, which the revocation has to replace
+        mockMvc.perform(get("/api/users/{id}", userId).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        userService.updateUser(userId, UserUpdateDto.builder().enabled(false).build());
+
+        assertThat(jdbc.queryForObject("SELECT tokens_valid_after FROM users WHERE id = ?", Object.class, userId))
+                .isNotNull();
+        mockMvc.perform(get("/api/users/{id}", userId).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+        login(username, TestDataSeeder.PASSWORD).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void deletingTheUserRevokesTheirTokens() throws Exception {
+        String token = token();
+
+        mockMvc.perform(delete("/api/users/{id}", userId).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isAccepted());
+
+        mockMvc.perform(get("/api/users/{id}", userId).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void refusesAMissingOrShortSecret() {
+        for (String secret : new String[]{null, " ", "too-short-for-hmac-sha256"}) {
+            SecurityConfig config = new SecurityConfig(null,
+                    new TokenProperties(secret, Duration.ofMinutes(15), Duration.ofSeconds(5)));
+
+            assertThatThrownBy(config::jwtEncoder).isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("blog.security.token.secret");
+        }
+    }
+
+    private ResultActions login(String username, String password) throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\": \"" + username + "\", \"password\": \"" + password + "\"}"));
+    }
+
+    private String token() throws Exception {
+        String body = login(username, TestDataSeeder.PASSWORD)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$.accessToken");
+    }
+}
@@ -0,0 +1,151 @@
+package de.ityreh.home.blog.controller;
+
+import de.ityreh.home.blog.config.FeedProperties;
+import de.ityreh.home.blog.dto.PostCreateDto;
+import de.ityreh.home.blog.dto.PostResponseDto;
+import de.ityreh.home.blog.repository.PostRepository;
+import de.ityreh.home.blog.service.FeedService;
+import de.ityreh.home.blog.service.FeedService.Format;
+import de.ityreh.home.blog.service.FeedService.RenderedFeed;
+import de.ityreh.home.blog.service.PostService;
+import de.ityreh.home.blog.support.TestDataSeeder;
+import de.ityreh.home.blog.support.TestDataSeeder.Seeded;
+import de.ityreh.home.blog.support.TestDataSeeder.Size;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private FeedProperties feedProperties;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private Seeded seeded;
+
+    @BeforeEach
+    void seed() {
+        seeded = new TestDataSeeder(jdbc).seed(Size.SMALL);
+    }
+
+    @Test
+    void answersConditionalRequestsWithNotModified() throws Exception {
+        for (String uri : new String[]{"/feed.xml", "/atom.xml"}) {
+            MvcResult result = mockMvc.perform(get(uri))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists(HttpHeaders.ETAG))
+                    .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                    .andReturn();
+            String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+            String lastModified = result.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+            mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified());
+            mockMvc.perform(get(uri).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                    .andExpect(status().isNotModified());
+            mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, "\"other\""))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void publishingAPostReplacesTheCachedFeed() throws Exception {
+        String etag = mockMvc.perform(get("/feed.xml"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        PostResponseDto draft = postService.createPost(PostCreateDto.builder()
+                .title("Freshly published")
+                .content("Content")
+                .authorId(seeded.firstUserId())
+                .build());
+
+        postService.publishPost(draft.getId());
+
+        mockMvc.perform(get("/feed.xml").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Freshly published")));
+    }
+
+    @Test
+    void servesTheRenderedFeedUntilItExpires() {
+        long postId = latestPublishedPostId();
+        FeedService cached = new FeedService(postService, postRepository, withTtl(Duration.ofMinutes(5)));
+        FeedService expired = new FeedService(postService, postRepository, withTtl(Duration.ZERO));
+        cached.getFeed(Format.RSS);
+        expired.getFeed(Format.RSS);
+
+        // Changed behind the services' backs, so no event invalidates the feeds
+        jdbc.update("UPDATE posts SET title = 'Changed behind the cache' WHERE id = ?", postId);
+
+        assertThat(body(cached.getFeed(Format.RSS))).doesNotContain("Changed behind the cache");
+        assertThat(body(expired.getFeed(Format.RSS))).contains("Changed behind the cache");
+    }
+
+    @Test
+    void rejectsAFeedSizeAboveThePageMaximum() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ValidationAutoConfiguration.class))
+                .withUserConfiguration(FeedPropertiesConfiguration.class);
+
+        runner.withPropertyValues("blog.feed.size=" + PostService.MAX_PAGE_SIZE)
+                .run(context -> assertThat(context).hasNotFailed());
+        runner.withPropertyValues("blog.feed.size=" + (PostService.MAX_PAGE_SIZE + 1))
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    private long latestPublishedPostId() {
+        return jdbc.queryForObject("SELECT id FROM posts WHERE status = 'PUBLISHED' "
+                + "ORDER BY published_at DESC, id DESC LIMIT 1", Long.class);
+    }
+
+    private FeedProperties withTtl(Duration ttl) {
+        return new FeedProperties(feedProperties.title(), feedProperties.description(), feedProperties.siteUrl(),
+                feedProperties.size(), ttl);
+    }
+
+    private static String body(RenderedFeed feed) {
+        return new String(feed.body(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Binds the feed settings alone; not a {@code @Configuration}, which would replace the application's.
+     */
+    @EnableConfigurationProperties(FeedProperties.class)
+    static class FeedPropertiesConfiguration {
+    }
+}
@@ -0,0 +1,149 @@
+package de.ityreh.home.blog.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import de.ityreh.home.blog.support.TestDataSeeder;
+import de.ityreh.home.blog.support.TestDataSeeder.Seeded;
+import de.ityreh.home.blog.support.TestDataSeeder.Size;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Walks the keyset-paginated post listings page by page and compares them with a full
+ * {@code ORDER BY}: no post may be skipped or repeated, also where publication times tie
+ * and where a page crosses from published into unpublished posts.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PostPagingTest {
+
+    private static final String LISTING_ORDER = " ORDER BY published_at DESC NULLS LAST, id DESC";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private Seeded seeded;
+
+    @BeforeEach
+    void seed() {
+        seeded = new TestDataSeeder(jdbc).seed(Size.SMALL);
+        // Every third published post shares its publication time with others, so pages split tie groups
+        jdbc.update("UPDATE posts SET published_at = ? WHERE id >= ? AND published_at IS NOT NULL AND MOD(id, 3) = 0",
+                LocalDateTime.now().minusDays(1).withNano(0), seeded.firstPostId());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {7, 50})
+    void pagesThroughAllPostsInListingOrder(int size) throws Exception {
+        assertThat(walk("/api/posts", size))
+                .isEqualTo(jdbc.queryForList("SELECT id FROM posts" + LISTING_ORDER, Long.class));
+    }
+
+    @Test
+    void pagesThroughPostSummariesInListingOrder() throws Exception {
+        assertThat(walk("/api/posts/summary", 9))
+                .isEqualTo(jdbc.queryForList("SELECT id FROM posts" + LISTING_ORDER, Long.class));
+    }
+
+    @Test
+    void pagesThroughTheFilteredListingsInListingOrder() throws Exception {
+        long authorId = seeded.firstUserId();
+
+        assertThat(walk("/api/posts/author/" + authorId, 4))
+                .isEqualTo(jdbc.queryForList("SELECT id FROM posts WHERE author_id = ?" + LISTING_ORDER,
+                        Long.class, authorId));
+        assertThat(walk("/api/posts/status/PUBLISHED", 11))
+                .isEqualTo(jdbc.queryForList("SELECT id FROM posts WHERE status = 'PUBLISHED'" + LISTING_ORDER,
+                        Long.class));
+        assertThat(walk("/api/posts/status/DRAFT", 11))
+                .isEqualTo(jdbc.queryForList("SELECT id FROM posts WHERE status = 'DRAFT'" + LISTING_ORDER,
+                        Long.class));
+    }
+
+    @Test
+    void continuesWithUnpublishedPostsWhenThePublishedOnesRunOut() throws Exception {
+        List<Long> published = jdbc.queryForList(
+                "SELECT id FROM posts WHERE published_at IS NOT NULL" + LISTING_ORDER, Long.class);
+        List<Long> unpublished = jdbc.queryForList(
+                "SELECT id FROM posts WHERE published_at IS NULL" + LISTING_ORDER, Long.class);
+        long lastPublishedId = published.get(published.size() - 1);
+        LocalDateTime lastPublishedAt = jdbc.queryForObject(
+                "SELECT published_at FROM posts WHERE id = ?", LocalDateTime.class, lastPublishedId);
+
+        // Positioned on the last published post, the next page is the start of the unpublished block
+        List<Long> page = ids(mockMvc.perform(get("/api/posts").param("size", "5")
+                        .param("cursor", cursor(lastPublishedAt + "|" + lastPublishedId)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        assertThat(page).isEqualTo(unpublished.subList(0, 5));
+    }
+
+    @Test
+    void rejectsInvalidCursors() throws Exception {
+        List<String> cursors = List.of(
+                "not base64!",
+                cursor("no separator"),
+                cursor("2025-13-45T00:00|1"),
+                cursor("2025-01-01T00:00|not a number"),
+                cursor("|"));
+
+        for (String cursor : cursors) {
+            mockMvc.perform(get("/api/posts").param("cursor", cursor))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    /**
+     * Follow the next cursors of a listing to its end and collect the post IDs in order.
+     */
+    private List<Long> walk(String uri, int size) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get(uri).param("size", String.valueOf(size));
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            List<Long> page = ids(body);
+            assertThat(page).hasSizeLessThanOrEqualTo(size);
+            ids.addAll(page);
+            cursor = JsonPath.read(body, "$.nextCursor");
+        } while (cursor != null);
+        return ids;
+    }
+
+    private static List<Long> ids(String body) {
+        List<Number> ids = JsonPath.read(body, "$.items[*].id");
+        return ids.stream().map(Number::longValue).toList();
+    }
+
+    private static String cursor(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,98 @@
+package de.ityreh.home.blog.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import de.ityreh.home.blog.support.TestDataSeeder;
+import de.ityreh.home.blog.support.TestDataSeeder.Seeded;
+import de.ityreh.home.blog.support.TestDataSeeder.Size;
+import de.ityreh.home.blog.web.SqlStatementBudgetFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Guards the statement counts of the post listings against N+1 regressions.
+ * Every listing returns a full page of posts with authors, categories and several tags each,
+ * so a lazily loaded association would show up as one statement per post.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PostStatementCountTest {
+
+    private static Seeded seeded;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void seed() {
+        if (seeded == null) {
+            seeded = new TestDataSeeder(jdbc).seed(Size.SMALL);
+        }
+    }
+
+    @Test
+    void listsAPageOfPostsWithinThreeStatements() throws Exception {
+        MvcResult result = perform(get("/api/posts").param("size", "50"));
+
+        assertThat(items(result)).isEqualTo(50);
+        assertThat(statements(result)).isBetween(1, 3);
+    }
+
+    @Test
+    void pagesThroughPostsByCursorWithinThreeStatements() throws Exception {
+        MvcResult first = perform(get("/api/posts").param("size", "20"));
+        String cursor = JsonPath.read(first.getResponse().getContentAsString(), "$.nextCursor");
+        assertThat(cursor).isNotBlank();
+
+        assertThat(statements(get("/api/posts").param("size", "20").param("cursor", cursor))).isBetween(1, 3);
+    }
+
+    @Test
+    void getsAPostWithinThreeStatements() throws Exception {
+        long postId = seeded.firstPostId() % 5 == 0 ? seeded.firstPostId() + 1 : seeded.firstPostId();
+
+        assertThat(statements(get("/api/posts/{id}", postId))).isBetween(1, 3);
+    }
+
+    @Test
+    void listsPostSummariesWithinTwoStatements() throws Exception {
+        MvcResult result = perform(get("/api/posts/summary").param("size", "50"));
+
+        assertThat(items(result)).isEqualTo(50);
+        assertThat(statements(result)).isBetween(1, 2);
+    }
+
+    private int statements(RequestBuilder request) throws Exception {
+        return statements(perform(request));
+    }
+
+    private static int statements(MvcResult result) {
+        return (Integer) result.getRequest().getAttribute(SqlStatementBudgetFilter.COUNT_ATTRIBUTE);
+    }
+
+    private static int items(MvcResult result) throws Exception {
+        return JsonPath.<List<?>>read(result.getResponse().getContentAsString(), "$.items").size();
+    }
+
+    private MvcResult perform(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        return result;
+    }
+}
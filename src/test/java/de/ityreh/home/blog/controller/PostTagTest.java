@@ -0,0 +1,158 @@
+package de.ityreh.home.blog.controller;
+
+import de.ityreh.home.blog.dto.PostUpdateDto;
+import de.ityreh.home.blog.service.PostService;
+import de.ityreh.home.blog.support.TestDataSeeder;
+import de.ityreh.home.blog.support.TestDataSeeder.Seeded;
+import de.ityreh.home.blog.support.TestDataSeeder.Size;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Changes to the tags of a post, which must write only the join rows that change.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PostTagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private Seeded seeded;
+    private long postId;
+    private List<Long> tagIds;
+    private long otherTagId;
+
+    @BeforeEach
+    void seed() {
+        seeded = new TestDataSeeder(jdbc).seed(Size.SMALL);
+        postId = seeded.firstPostId();
+        tagIds = tagIds(postId);
+        assertThat(tagIds).hasSizeGreaterThan(1);
+        otherTagId = jdbc.queryForObject("SELECT MIN(id) FROM tags WHERE id >= ? "
+                + "AND id NOT IN (SELECT tag_id FROM post_tags WHERE post_id = ?)", Long.class, seeded.firstTagId(), postId);
+    }
+
+    @Test
+    void attachesATagOnceAndCountsIt() throws Exception {
+        Map<Long, Long> counts = postCounts();
+
+        mockMvc.perform(authenticated(post("/api/posts/{id}/tags/{tagId}", postId, otherTagId)))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(authenticated(post("/api/posts/{id}/tags/{tagId}", postId, otherTagId)))
+                .andExpect(status().isNoContent());
+
+        assertThat(tagIds(postId)).containsExactlyInAnyOrderElementsOf(with(tagIds, otherTagId));
+        assertThat(postCounts()).isEqualTo(adjusted(counts, otherTagId, 1));
+    }
+
+    @Test
+    void detachesATagOnceAndCountsIt() throws Exception {
+        long tagId = tagIds.get(0);
+        Map<Long, Long> counts = postCounts();
+
+        mockMvc.perform(authenticated(delete("/api/posts/{id}/tags/{tagId}", postId, tagId)))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(authenticated(delete("/api/posts/{id}/tags/{tagId}", postId, tagId)))
+                .andExpect(status().isNoContent());
+
+        assertThat(tagIds(postId)).containsExactlyInAnyOrderElementsOf(tagIds.subList(1, tagIds.size()));
+        assertThat(postCounts()).isEqualTo(adjusted(counts, tagId, -1));
+    }
+
+    @Test
+    void rejectsUnknownPostsAndTags() throws Exception {
+        long unknownId = Long.MAX_VALUE;
+
+        mockMvc.perform(authenticated(post("/api/posts/{id}/tags/{tagId}", postId, unknownId)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(authenticated(post("/api/posts/{id}/tags/{tagId}", unknownId, otherTagId)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(authenticated(delete("/api/posts/{id}/tags/{tagId}", postId, unknownId)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(authenticated(delete("/api/posts/{id}/tags/{tagId}", unknownId, otherTagId)))
+                .andExpect(status().isBadRequest());
+        assertThat(tagIds(postId)).containsExactlyInAnyOrderElementsOf(tagIds);
+    }
+
+    @Test
+    void updatingTheTagsOfAPostChangesTheSetInPlace() {
+        long removedTagId = tagIds.get(0);
+        Set<Long> newTagIds = new HashSet<>(with(tagIds, otherTagId));
+        newTagIds.remove(removedTagId);
+        Map<Long, Long> counts = postCounts();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long recreated = statistics.getCollectionRecreateCount();
+        long updated = statistics.getCollectionUpdateCount();
+
+        postService.updatePost(postId, PostUpdateDto.builder().tagIds(newTagIds).build());
+
+        // An in-place update writes the added and removed rows; a recreate would rewrite all of them
+        assertThat(statistics.getCollectionRecreateCount()).isEqualTo(recreated);
+        assertThat(statistics.getCollectionUpdateCount()).isEqualTo(updated + 1);
+        assertThat(tagIds(postId)).containsExactlyInAnyOrderElementsOf(newTagIds);
+        assertThat(postCounts()).isEqualTo(adjusted(adjusted(counts, removedTagId, -1), otherTagId, 1));
+    }
+
+    private MockHttpServletRequestBuilder authenticated(MockHttpServletRequestBuilder request) {
+        return request.with(httpBasic("seed_user_" + seeded.firstUserId(), TestDataSeeder.PASSWORD));
+    }
+
+    private List<Long> tagIds(long postId) {
+        return jdbc.queryForList("SELECT tag_id FROM post_tags WHERE post_id = ?", Long.class, postId);
+    }
+
+    private Map<Long, Long> postCounts() {
+        Map<Long, Long> counts = new HashMap<>();
+        jdbc.query("SELECT id, post_count FROM tags WHERE id >= ?",
+                (RowCallbackHandler) rs -> counts.put(rs.getLong("id"), rs.getLong("post_count")),
+                seeded.firstTagId());
+        return counts;
+    }
+
+    private static Map<Long, Long> adjusted(Map<Long, Long> counts, long tagId, long delta) {
+        Map<Long, Long> adjusted = new HashMap<>(counts);
+        adjusted.merge(tagId, delta, Long::sum);
+        return adjusted;
+    }
+
+    private static List<Long> with(List<Long> ids, long id) {
+        List<Long> result = new ArrayList<>(ids);
+        result.add(id);
+        return result;
+    }
+}
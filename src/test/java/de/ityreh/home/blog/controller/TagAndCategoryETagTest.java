@@ -0,0 +1,104 @@
+package de.ityreh.home.blog.controller;
+
+import de.ityreh.home.blog.dto.PostUpdateDto;
+import de.ityreh.home.blog.service.PostService;
+import de.ityreh.home.blog.support.TestDataSeeder;
+import de.ityreh.home.blog.support.TestDataSeeder.Seeded;
+import de.ityreh.home.blog.support.TestDataSeeder.Size;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The entity tags of tags and categories, which must change with their post counts.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TagAndCategoryETagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private Seeded seeded;
+
+    @BeforeEach
+    void seed() {
+        seeded = new TestDataSeeder(jdbc).seed(Size.SMALL);
+    }
+
+    @Test
+    void tagByNameIsModifiedWhenItsPostCountChanges() throws Exception {
+        long tagId = seeded.firstTagId();
+        String name = jdbc.queryForObject("SELECT name FROM tags WHERE id = ?", String.class, tagId);
+        String etag = etag("/api/tags/name/{name}", name);
+        assertThat(etag).isEqualTo(etag("/api/tags/{id}", tagId));
+
+        postService.attachTag(postWithout("SELECT post_id FROM post_tags WHERE tag_id = ?", tagId), tagId);
+
+        long postCount = jdbc.queryForObject("SELECT post_count FROM tags WHERE id = ?", Long.class, tagId);
+        mockMvc.perform(get("/api/tags/name/{name}", name).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.postCount").value(postCount));
+        assertThat(etag("/api/tags/name/{name}", name)).isEqualTo(etag("/api/tags/{id}", tagId));
+    }
+
+    @Test
+    void categoryByNameIsModifiedWhenItsPostCountChanges() throws Exception {
+        long categoryId = seeded.firstCategoryId();
+        String name = jdbc.queryForObject("SELECT name FROM categories WHERE id = ?", String.class, categoryId);
+        String etag = etag("/api/categories/name/{name}", name);
+        assertThat(etag).isEqualTo(etag("/api/categories/{id}", categoryId));
+
+        long postId = postWithout("SELECT id FROM posts WHERE category_id = ?", categoryId);
+        postService.updatePost(postId, PostUpdateDto.builder().categoryId(categoryId).build());
+
+        long postCount = jdbc.queryForObject("SELECT post_count FROM categories WHERE id = ?", Long.class, categoryId);
+        mockMvc.perform(get("/api/categories/name/{name}", name).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.postCount").value(postCount));
+        assertThat(etag("/api/categories/name/{name}", name)).isEqualTo(etag("/api/categories/{id}", categoryId));
+    }
+
+    @Test
+    void tagByNameIsNotModifiedWhileUnchanged() throws Exception {
+        String name = jdbc.queryForObject("SELECT name FROM tags WHERE id = ?", String.class, seeded.firstTagId());
+        String etag = etag("/api/tags/name/{name}", name);
+
+        mockMvc.perform(get("/api/tags/name/{name}", name).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    /**
+     * The first seeded post that is not among the given posts.
+     */
+    private long postWithout(String postIdsSql, long id) {
+        return jdbc.queryForObject("SELECT MIN(id) FROM posts WHERE id >= ? AND id NOT IN (" + postIdsSql + ")",
+                Long.class, seeded.firstPostId(), id);
+    }
+
+    private String etag(String uri, Object variable) throws Exception {
+        String etag = mockMvc.perform(get(uri, variable))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        return etag;
+    }
+}
@@ -0,0 +1,113 @@
+package de.ityreh.home.blog.service;
+
+import de.ityreh.home.blog.entity.PostStatus;
+import de.ityreh.home.blog.event.PostsChangedEvent;
+import de.ityreh.home.blog.support.TestDataSeeder;
+import de.ityreh.home.blog.support.TestDataSeeder.Seeded;
+import de.ityreh.home.blog.support.TestDataSeeder.Size;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Publishing of due scheduled posts, called directly because the test profile disables the job.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class ScheduledPublishingTest {
+
+    // Earlier than anything other tests schedule, so these posts are claimed first
+    private static final LocalDateTime FIRST_DUE = LocalDateTime.of(2000, 1, 1, 10, 0);
+    private static final LocalDateTime SECOND_DUE = FIRST_DUE.plusDays(1);
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private long firstDueId;
+    private long secondDueId;
+    private long futureId;
+
+    @BeforeEach
+    void seed() {
+        Seeded seeded = new TestDataSeeder(jdbc).seed(Size.SMALL);
+        firstDueId = seeded.firstPostId();
+        secondDueId = seeded.firstPostId() + 1;
+        futureId = seeded.firstPostId() + 2;
+        schedule(firstDueId, FIRST_DUE);
+        schedule(secondDueId, SECOND_DUE);
+        schedule(futureId, LocalDateTime.now().plusDays(1));
+    }
+
+    @Test
+    void publishesDuePostsAtTheirScheduledTime() {
+        List<Map<String, Object>> counts = postCounts();
+        long published = publishedCount();
+
+        assertThat(postService.publishDueScheduledPosts(1)).isEqualTo(1);
+        assertThat(postService.publishDueScheduledPosts(10)).isEqualTo(1);
+
+        assertPublishedAt(firstDueId, FIRST_DUE);
+        assertPublishedAt(secondDueId, SECOND_DUE);
+        assertThat(jdbc.queryForObject("SELECT status FROM posts WHERE id = ?", String.class, futureId))
+                .isEqualTo(PostStatus.SCHEDULED.name());
+        assertThat(postService.publishDueScheduledPosts(10)).isZero();
+        assertThat(publishedCount()).isEqualTo(published + 2);
+        // Post counts include posts of every status, so publishing leaves them alone
+        assertThat(postCounts()).isEqualTo(counts);
+        assertThat(events.stream(PostsChangedEvent.class).map(PostsChangedEvent::postIds))
+                .containsExactly(Set.of(firstDueId), Set.of(secondDueId));
+    }
+
+    @Test
+    void evictsTheCachedPostResponses() {
+        assertThat(postService.getPostById(firstDueId).getStatus()).isEqualTo(PostStatus.SCHEDULED);
+
+        postService.publishDueScheduledPosts(10);
+
+        assertThat(postService.getPostById(firstDueId).getStatus()).isEqualTo(PostStatus.PUBLISHED);
+        assertThat(postService.getPostById(firstDueId).getPublishedAt()).isEqualTo(FIRST_DUE);
+        assertThat(postService.getPostById(firstDueId).getScheduledAt()).isNull();
+    }
+
+    private void schedule(long postId, LocalDateTime scheduledAt) {
+        jdbc.update("UPDATE posts SET status = 'SCHEDULED', published_at = NULL, scheduled_at = ? WHERE id = ?",
+                scheduledAt, postId);
+    }
+
+    private void assertPublishedAt(long postId, LocalDateTime scheduledAt) {
+        assertThat(jdbc.queryForObject("SELECT status FROM posts WHERE id = ?", String.class, postId))
+                .isEqualTo(PostStatus.PUBLISHED.name());
+        assertThat(jdbc.queryForObject("SELECT published_at FROM posts WHERE id = ?", LocalDateTime.class, postId))
+                .isEqualTo(scheduledAt);
+        assertThat(jdbc.queryForObject("SELECT scheduled_at FROM posts WHERE id = ?", LocalDateTime.class, postId))
+                .isNull();
+    }
+
+    private long publishedCount() {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM posts WHERE status = 'PUBLISHED'", Long.class);
+    }
+
+    private List<Map<String, Object>> postCounts() {
+        return jdbc.queryForList("SELECT 'tag' AS kind, id, post_count FROM tags "
+                + "UNION ALL SELECT 'category', id, post_count FROM categories ORDER BY kind, id");
+    }
+}
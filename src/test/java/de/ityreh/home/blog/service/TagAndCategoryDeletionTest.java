@@ -0,0 +1,129 @@
+package de.ityreh.home.blog.service;
+
+import de.ityreh.home.blog.support.TestDataSeeder;
+import de.ityreh.home.blog.support.TestDataSeeder.Seeded;
+import de.ityreh.home.blog.support.TestDataSeeder.Size;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TagAndCategoryDeletionTest {
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private Seeded seeded;
+
+    @BeforeEach
+    void seed() {
+        seeded = new TestDataSeeder(jdbc).seed(Size.SMALL);
+    }
+
+    @Test
+    void deletingATagRemovesItFromItsPostsWithoutWritingThem() {
+        long tagId = seeded.firstTagId();
+        List<Long> postIds = postIds("SELECT post_id FROM post_tags WHERE tag_id = ? ORDER BY post_id", tagId);
+        assertThat(postIds).isNotEmpty();
+        long postId = postIds.get(0);
+        LocalDateTime updatedAt = postUpdatedAt(postId);
+        LocalDateTime lastModified = postService.getPostLastModified(postId);
+
+        tagService.deleteTag(tagId, null);
+
+        assertThat(count("SELECT COUNT(*) FROM tags WHERE id = ?", tagId)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM post_tags WHERE tag_id = ?", tagId)).isZero();
+        assertThat(postUpdatedAt(postId)).isEqualTo(updatedAt);
+        assertThat(postService.getPostLastModified(postId)).isAfter(lastModified);
+        assertConsistentTagCounts();
+    }
+
+    @Test
+    void deletingATagWithAReplacementMovesItsPostsAndAdjustsTheCount() {
+        long tagId = seeded.firstTagId();
+        long replacementId = seeded.firstTagId() + 1;
+        List<Long> postIds = postIds("SELECT post_id FROM post_tags WHERE tag_id = ? ORDER BY post_id", tagId);
+        // One post carries both tags, so the move must not duplicate its link
+        postService.attachTag(postIds.get(0), replacementId);
+        List<Long> expected = postIds("SELECT post_id FROM post_tags WHERE tag_id IN (?, ?) "
+                + "GROUP BY post_id ORDER BY post_id", tagId, replacementId);
+
+        tagService.deleteTag(tagId, replacementId);
+
+        assertThat(postIds("SELECT post_id FROM post_tags WHERE tag_id = ? ORDER BY post_id", replacementId))
+                .isEqualTo(expected);
+        assertThat(count("SELECT post_count FROM tags WHERE id = ?", replacementId)).isEqualTo(expected.size());
+        assertConsistentTagCounts();
+    }
+
+    @Test
+    void deletingACategoryLeavesItsPostsUncategorized() {
+        long categoryId = seeded.firstCategoryId();
+        List<Long> postIds = postIds("SELECT id FROM posts WHERE category_id = ? ORDER BY id", categoryId);
+        assertThat(postIds).isNotEmpty();
+
+        categoryService.deleteCategory(categoryId, null);
+
+        assertThat(count("SELECT COUNT(*) FROM categories WHERE id = ?", categoryId)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM posts WHERE id IN (" + join(postIds) + ") AND category_id IS NULL"))
+                .isEqualTo(postIds.size());
+        assertConsistentCategoryCounts();
+    }
+
+    @Test
+    void deletingACategoryWithAReplacementMovesItsPostsAndAdjustsTheCount() {
+        long categoryId = seeded.firstCategoryId();
+        long replacementId = seeded.firstCategoryId() + 1;
+        long expected = count("SELECT COUNT(*) FROM posts WHERE category_id IN (?, ?)", categoryId, replacementId);
+
+        categoryService.deleteCategory(categoryId, replacementId);
+
+        assertThat(count("SELECT COUNT(*) FROM posts WHERE category_id = ?", replacementId)).isEqualTo(expected);
+        assertThat(count("SELECT post_count FROM categories WHERE id = ?", replacementId)).isEqualTo(expected);
+        assertConsistentCategoryCounts();
+    }
+
+    private void assertConsistentTagCounts() {
+        assertThat(count("SELECT COUNT(*) FROM tags t WHERE t.post_count <> "
+                + "(SELECT COUNT(*) FROM post_tags pt WHERE pt.tag_id = t.id)")).isZero();
+    }
+
+    private void assertConsistentCategoryCounts() {
+        assertThat(count("SELECT COUNT(*) FROM categories c WHERE c.post_count <> "
+                + "(SELECT COUNT(*) FROM posts p WHERE p.category_id = c.id)")).isZero();
+    }
+
+    private LocalDateTime postUpdatedAt(long postId) {
+        return jdbc.queryForObject("SELECT updated_at FROM posts WHERE id = ?", LocalDateTime.class, postId);
+    }
+
+    private List<Long> postIds(String sql, Object... args) {
+        return jdbc.queryForList(sql, Long.class, args);
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbc.queryForObject(sql, Long.class, args);
+    }
+
+    private static String join(List<Long> ids) {
+        return String.join(",", ids.stream().map(String::valueOf).toList());
+    }
+}
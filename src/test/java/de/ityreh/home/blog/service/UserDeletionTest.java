@@ -0,0 +1,76 @@
+package de.ityreh.home.blog.service;
+
+import de.ityreh.home.blog.dto.UserDeletionStatusDto;
+import de.ityreh.home.blog.entity.UserDeletionState;
+import de.ityreh.home.blog.repository.UserRepository;
+import de.ityreh.home.blog.support.TestDataSeeder;
+import de.ityreh.home.blog.support.TestDataSeeder.Seeded;
+import de.ityreh.home.blog.support.TestDataSeeder.Size;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserDeletionTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void deletesTheUserOnceAndKeepsTheOutcome() throws InterruptedException {
+        Seeded seeded = new TestDataSeeder(jdbc).seed(Size.SMALL);
+        long userId = seeded.firstUserId();
+
+        UserDeletionStatusDto first = userService.deleteUser(userId);
+        UserDeletionStatusDto status = awaitFinished(userId);
+
+        assertThat(first.getTotalPosts()).isEqualTo(15);
+        assertThat(status.getState()).isEqualTo(UserDeletionState.COMPLETED);
+        assertThat(status.getDeletedPosts()).isEqualTo(15);
+        assertThat(status.getStartedAt()).isCloseTo(first.getStartedAt(), within(1, ChronoUnit.MILLIS));
+        assertThat(userRepository.existsById(userId)).isFalse();
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM posts WHERE author_id = ?", Long.class, userId)).isZero();
+    }
+
+    @Test
+    void returnsTheDeletionUnderWayInsteadOfStartingAnother() {
+        Seeded seeded = new TestDataSeeder(jdbc).seed(Size.SMALL);
+        long userId = seeded.firstUserId() + 1;
+        // A deletion claimed by another request or instance, without a job running here
+        jdbc.update("UPDATE users SET deletion_requested_at = CURRENT_TIMESTAMP WHERE id = ?", userId);
+        jdbc.update("INSERT INTO user_deletions (user_id, state, total_posts, deleted_posts, started_at, progressed_at) "
+                + "VALUES (?, 'RUNNING', 15, 5, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", userId);
+
+        UserDeletionStatusDto status = userService.deleteUser(userId);
+
+        assertThat(status.getState()).isEqualTo(UserDeletionState.RUNNING);
+        assertThat(status.getDeletedPosts()).isEqualTo(5);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM posts WHERE author_id = ?", Long.class, userId))
+                .isEqualTo(15);
+    }
+
+    private UserDeletionStatusDto awaitFinished(long userId) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            UserDeletionStatusDto status = userService.getDeletionStatus(userId);
+            if (status.getState().isFinished()) {
+                return status;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Deletion of user " + userId + " did not finish");
+    }
+}
@@ -0,0 +1,66 @@
+package de.ityreh.home.blog.service;
+
+import de.ityreh.home.blog.dto.UserUpdateDto;
+import de.ityreh.home.blog.event.PostsChangedEvent;
+import de.ityreh.home.blog.support.TestDataSeeder;
+import de.ityreh.home.blog.support.TestDataSeeder.Seeded;
+import de.ityreh.home.blog.support.TestDataSeeder.Size;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Only changes to what post responses embed of their author invalidate the author's posts.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class UserUpdateTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private long userId;
+
+    @BeforeEach
+    void seed() {
+        Seeded seeded = new TestDataSeeder(jdbc).seed(Size.SMALL);
+        userId = seeded.firstUserId();
+    }
+
+    @Test
+    void changingTheNameInvalidatesTheAuthorsPosts() {
+        userService.updateUser(userId, UserUpdateDto.builder().lastName("Renamed").build());
+
+        List<PostsChangedEvent> changes = events.stream(PostsChangedEvent.class).toList();
+        assertThat(changes).hasSize(1);
+        assertThat(changes.get(0).postIds())
+                .containsExactlyInAnyOrderElementsOf(
+                        jdbc.queryForList("SELECT id FROM posts WHERE author_id = ?", Long.class, userId));
+    }
+
+    @Test
+    void changingNothingEmbeddedLeavesThePostsAlone() {
+        String firstName = jdbc.queryForObject("SELECT first_name FROM users WHERE id = ?", String.class, userId);
+
+        userService.updateUser(userId, UserUpdateDto.builder().firstName(firstName).build());
+        userService.updateUser(userId, UserUpdateDto.builder().enabled(false).build());
+
+        assertThat(events.stream(PostsChangedEvent.class)).isEmpty();
+    }
+}
@@ -0,0 +1,223 @@
+package de.ityreh.home.blog.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds users, categories, tags, posts and post-tag links with batched JDBC inserts.
+ * <p>
+ * Produces the same dataset as {@code load-test/seed.sql}: every fifth post is a draft, every
+ * tenth has no category, and tags follow a stride through the tag range so that every tag is
+ * used. Rows are appended after the existing IDs, post counts are recomputed and the ID
+ * sequences are advanced, so the application keeps working on the seeded database.
+ * Only portable SQL is used, so it runs against the H2 test database and PostgreSQL alike.
+ * <p>
+ * Tests seed a few hundred rows through {@link #seed(Size)}; {@link #main} fills a local
+ * PostgreSQL database with a production-scale dataset.
+ */
+public class TestDataSeeder {
+
+    /**
+     * Password of every seeded user.
+     */
+    public static final String PASSWORD = "loadtest";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String LOREM = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ";
+
+    private final JdbcTemplate jdbc;
+
+    public TestDataSeeder(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Seed a dataset of the given size.
+     *
+     * @param size the number of rows to create
+     * @return the IDs and counts of the seeded rows
+     */
+    public Seeded seed(Size size) {
+        long userBase = maxId("users");
+        long categoryBase = maxId("categories");
+        long tagBase = maxId("tags");
+        long postBase = maxId("posts");
+        LocalDateTime now = LocalDateTime.now();
+        String passwordHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+        insert("INSERT INTO categories (id, name, description, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                size.categories(), g -> new Object[]{categoryBase + g, "seed-category-" + (categoryBase + g),
+                        "Seeded category " + g, now, now});
+
+        insert("INSERT INTO tags (id, name, description, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                size.tags(), g -> new Object[]{tagBase + g, "seed-tag-" + (tagBase + g), "Seeded tag " + g, now, now});
+
+        insert("INSERT INTO users (id, username, email, password, first_name, last_name, enabled, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                size.users(), g -> new Object[]{userBase + g, "seed_user_" + (userBase + g),
+                        "seed_user_" + (userBase + g) + "@example.com", passwordHash, "First" + g, "Last" + g, true,
+                        now.minusDays(g % 1000), now});
+
+        long posts = (long) size.users() * size.postsPerUser();
+        insert("INSERT INTO posts (id, title, content, status, author_id, category_id, created_at, updated_at, published_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                posts, g -> {
+                    long id = postBase + g;
+                    boolean draft = id % 5 == 0;
+                    LocalDateTime createdAt = now.minusMinutes(5 * (id % 100_000));
+                    return new Object[]{id, "Seeded post " + id, LOREM.repeat(10 + (int) (id % 40)),
+                            draft ? "DRAFT" : "PUBLISHED",
+                            userBase + 1 + (g - 1) / size.postsPerUser(),
+                            id % 10 == 0 ? null : categoryBase + 1 + id % size.categories(),
+                            createdAt, createdAt, draft ? null : createdAt.plusHours(1)};
+                });
+
+        // The stride may map two links of a post to the same tag; those are skipped, as in seed.sql
+        insertAll("INSERT INTO post_tags (post_id, tag_id) VALUES (?, ?)", posts, g -> {
+            long id = postBase + g;
+            return distinctTags(id, tagBase, size).stream()
+                    .map(tagId -> new Object[]{id, tagId})
+                    .toArray(Object[][]::new);
+        });
+
+        // Recompute the denormalised post counts (see 004-post-counts.yaml)
+        jdbc.update("UPDATE tags SET post_count = (SELECT COUNT(*) FROM post_tags pt WHERE pt.tag_id = tags.id)");
+        jdbc.update("UPDATE categories SET post_count = (SELECT COUNT(*) FROM posts p WHERE p.category_id = categories.id)");
+
+        // Let Hibernate's pooled sequences continue after the seeded IDs (see 005-id-sequences.yaml)
+        for (String table : List.of("users", "categories", "tags", "posts")) {
+            jdbc.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + (maxId(table) + 50));
+        }
+
+        return new Seeded(userBase + 1, size.users(), categoryBase + 1, size.categories(),
+                tagBase + 1, size.tags(), postBase + 1, posts);
+    }
+
+    private static List<Long> distinctTags(long postId, long tagBase, Size size) {
+        List<Long> tagIds = new ArrayList<>(size.tagsPerPost());
+        for (int j = 0; j < size.tagsPerPost(); j++) {
+            long tagId = tagBase + 1 + Math.floorMod(postId * 7919 + j * 104729L, (long) size.tags());
+            if (!tagIds.contains(tagId)) {
+                tagIds.add(tagId);
+            }
+        }
+        return tagIds;
+    }
+
+    private long maxId(String table) {
+        Long max = jdbc.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    /**
+     * Insert one generated row for each of {@code 1..count}.
+     */
+    private void insert(String sql, long count, SingleRow row) {
+        insertAll(sql, count, g -> new Object[][]{row.values(g)});
+    }
+
+    /**
+     * Insert the rows generated for each of {@code 1..count}, {@value #BATCH_SIZE} rows per JDBC batch.
+     */
+    private void insertAll(String sql, long count, MultiRow rows) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (long g = 1; g <= count; g++) {
+            for (Object[] values : rows.values(g)) {
+                batch.add(values);
+                if (batch.size() == BATCH_SIZE) {
+                    jdbc.batchUpdate(sql, batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbc.batchUpdate(sql, batch);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SingleRow {
+        Object[] values(long g);
+    }
+
+    @FunctionalInterface
+    private interface MultiRow {
+        Object[][] values(long g);
+    }
+
+    /**
+     * Seed a local PostgreSQL database, migrated by Liquibase, with a production-scale dataset.
+     * Connection settings follow the application's environment variables; sizes are system properties:
+     * <pre>
+     * mvn test-compile exec:java -Dexec.classpathScope=test \
+     *     -Dexec.mainClass=de.ityreh.home.blog.support.TestDataSeeder -Dusers=200000 -DpostsPerUser=10
+     * </pre>
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                String.format("jdbc:postgresql://%s:%s/%s?reWriteBatchedInserts=true",
+                        env("DB_HOST", "localhost"), env("DB_PORT", "5432"), env("DB_NAME", "blogdb")),
+                env("DB_USER", "bloguser"), env("DB_PASSWORD", "blogpass"));
+
+        Size size = new Size(
+                Integer.getInteger("users", Size.LARGE.users()),
+                Integer.getInteger("postsPerUser", Size.LARGE.postsPerUser()),
+                Integer.getInteger("tags", Size.LARGE.tags()),
+                Integer.getInteger("tagsPerPost", Size.LARGE.tagsPerPost()),
+                Integer.getInteger("categories", Size.LARGE.categories()));
+        long start = System.nanoTime();
+        Seeded seeded = new TestDataSeeder(new JdbcTemplate(dataSource)).seed(size);
+        System.out.printf("Seeded %s in %d s%n", seeded, (System.nanoTime() - start) / 1_000_000_000L);
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Dataset dimensions.
+     *
+     * @param users        the number of users
+     * @param postsPerUser the number of posts of each user
+     * @param tags         the number of tags
+     * @param tagsPerPost  the number of tags of each post
+     * @param categories   the number of categories
+     */
+    public record Size(int users, int postsPerUser, int tags, int tagsPerPost, int categories) {
+
+        /**
+         * A few hundred posts: enough for several pages of every listing, quick to seed.
+         */
+        public static final Size SMALL = new Size(20, 15, 30, 3, 5);
+
+        /**
+         * The default of {@code load-test/seed.sql}: 1 000 000 posts and 3 000 000 post-tag links.
+         */
+        public static final Size LARGE = new Size(100_000, 10, 2_000, 3, 50);
+    }
+
+    /**
+     * The seeded rows; IDs of each type are consecutive.
+     *
+     * @param firstUserId     the ID of the first seeded user
+     * @param users           the number of seeded users
+     * @param firstCategoryId the ID of the first seeded category
+     * @param categories      the number of seeded categories
+     * @param firstTagId      the ID of the first seeded tag
+     * @param tags            the number of seeded tags
+     * @param firstPostId     the ID of the first seeded post
+     * @param posts           the number of seeded posts
+     */
+    public record Seeded(long firstUserId, int users, long firstCategoryId, int categories,
+                         long firstTagId, int tags, long firstPostId, long posts) {
+    }
+}
@@ -0,0 +1,58 @@
+package de.ityreh.home.blog.support;
+
+import de.ityreh.home.blog.entity.Tag;
+import de.ityreh.home.blog.repository.TagRepository;
+import de.ityreh.home.blog.support.TestDataSeeder.Seeded;
+import de.ityreh.home.blog.support.TestDataSeeder.Size;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class TestDataSeederTest {
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Test
+    void seedsTheRequestedRowsWithConsistentPostCounts() {
+        Seeded seeded = new TestDataSeeder(jdbc).seed(Size.SMALL);
+
+        assertThat(seeded.posts()).isEqualTo(300);
+        assertThat(count("SELECT COUNT(*) FROM posts WHERE id >= ?", seeded.firstPostId())).isEqualTo(300);
+        assertThat(count("SELECT COUNT(*) FROM posts WHERE id >= ? AND status = 'DRAFT'", seeded.firstPostId()))
+                .isEqualTo(60);
+        assertThat(count("SELECT COUNT(*) FROM users WHERE id >= ?", seeded.firstUserId())).isEqualTo(20);
+
+        long links = count("SELECT COUNT(*) FROM post_tags WHERE post_id >= ?", seeded.firstPostId());
+        assertThat(links).isBetween(300L, 900L);
+        assertThat(count("SELECT SUM(post_count) FROM tags WHERE id >= ?", seeded.firstTagId())).isEqualTo(links);
+        assertThat(count("SELECT COUNT(*) FROM tags t WHERE t.id >= ? AND t.post_count <> "
+                + "(SELECT COUNT(*) FROM post_tags pt WHERE pt.tag_id = t.id)", seeded.firstTagId())).isZero();
+        assertThat(count("SELECT COUNT(*) FROM categories c WHERE c.id >= ? AND c.post_count <> "
+                + "(SELECT COUNT(*) FROM posts p WHERE p.category_id = c.id)", seeded.firstCategoryId())).isZero();
+    }
+
+    @Test
+    void advancesTheIdSequencesPastTheSeededRows() {
+        Seeded seeded = new TestDataSeeder(jdbc).seed(Size.SMALL);
+
+        Tag tag = tagRepository.saveAndFlush(Tag.builder().name("after-seeding").build());
+
+        assertThat(tag.getId()).isGreaterThanOrEqualTo(seeded.firstTagId() + seeded.tags());
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbc.queryForObject(sql, Long.class, args);
+    }
+}
@@ -0,0 +1,176 @@
+package de.ityreh.home.blog.web;
+
+import de.ityreh.home.blog.dto.PostUpdateDto;
+import de.ityreh.home.blog.dto.TagUpdateDto;
+import de.ityreh.home.blog.event.CategoriesChangedEvent;
+import de.ityreh.home.blog.event.TagsChangedEvent;
+import de.ityreh.home.blog.service.PostService;
+import de.ityreh.home.blog.service.TagService;
+import de.ityreh.home.blog.support.TestDataSeeder;
+import de.ityreh.home.blog.support.TestDataSeeder.Seeded;
+import de.ityreh.home.blog.support.TestDataSeeder.Size;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The response cache, which the test profile disables elsewhere: encoding negotiation,
+ * conditional requests on cached entries and invalidation of the affected listings only.
+ */
+@SpringBootTest(properties = "blog.response-cache.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CompressedResponseCacheFilterTest {
+
+    private static final String POSTS = "/api/posts?size=50";
+    private static final String TAGS = "/api/tags";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CompressedResponseCache cache;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private Seeded seeded;
+
+    @BeforeEach
+    void seed() {
+        seeded = new TestDataSeeder(jdbc).seed(Size.SMALL);
+        // The seeder writes past the services, so drop what earlier tests cached
+        cache.onTagsChanged(new TagsChangedEvent(null));
+        cache.onCategoriesChanged(new CategoriesChangedEvent(null));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', nullValues = "none", value = {
+            "none                    | none",
+            "identity                | none",
+            "gzip                    | gzip",
+            "deflate                 | deflate",
+            "gzip, deflate, br       | gzip",
+            "x-gzip                  | gzip",
+            "GZIP;q=0.5              | gzip",
+            "gzip;q=0, deflate       | deflate",
+            "gzip;q=0, deflate;q=0.0 | none",
+            "*                       | gzip",
+            "*;q=0                   | none",
+            "*, gzip;q=0             | deflate",
+            "br                      | none",
+            "gzip;q=x, deflate       | deflate"})
+    void negotiatesTheContentCoding(String acceptEncoding, String expected) {
+        assertThat(CompressedResponseCacheFilter.negotiateEncoding(acceptEncoding)).isEqualTo(expected);
+    }
+
+    @Test
+    void servesTheSameBodyInEveryEncoding() throws Exception {
+        // The miss renders the response; all others are served from the stored bytes
+        String rendered = body(perform(TAGS, "gzip;q=0, deflate;q=0"));
+        jdbc.update("UPDATE tags SET name = CONCAT(name, '-renamed') WHERE id = ?", seeded.firstTagId());
+
+        for (String acceptEncoding : new String[]{"gzip", "deflate", "identity", "gzip;q=0, deflate;q=0", "*"}) {
+            MockHttpServletResponse response = perform(TAGS, acceptEncoding);
+
+            assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+            assertThat(body(response)).isEqualTo(rendered);
+        }
+        assertThat(rendered).doesNotContain("-renamed");
+    }
+
+    @Test
+    void answersConditionalRequestsFromTheCachedEntry() throws Exception {
+        MockHttpServletResponse first = perform(POSTS, "gzip");
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+
+        MockHttpServletResponse cached = perform(POSTS, "gzip");
+        assertThat(cached.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+        assertThat(body(cached)).isEqualTo(body(first));
+
+        mockMvc.perform(get(POSTS).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(POSTS).header(HttpHeaders.IF_NONE_MATCH, "\"other\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void aPostChangeDropsThePostListingsOnly() throws Exception {
+        String tags = body(perform(TAGS, "gzip"));
+        perform(POSTS, "gzip");
+        // Visible only once the cached tag list is rendered again
+        jdbc.update("UPDATE tags SET name = CONCAT(name, '-renamed') WHERE id = ?", seeded.firstTagId());
+
+        postService.updatePost(latestPostId(), PostUpdateDto.builder().title("Retitled").build());
+
+        assertThat(body(perform(POSTS, "gzip"))).contains("Retitled");
+        assertThat(body(perform(TAGS, "gzip"))).isEqualTo(tags);
+    }
+
+    @Test
+    void aTagChangeDropsTheTagsAndThePostListings() throws Exception {
+        perform(TAGS, "gzip");
+        perform(POSTS, "gzip");
+        long tagId = jdbc.queryForObject("SELECT tag_id FROM post_tags WHERE post_id = ? ORDER BY tag_id LIMIT 1",
+                Long.class, latestPostId());
+
+        tagService.updateTag(tagId, TagUpdateDto.builder().name("renamed-tag").build());
+
+        assertThat(body(perform(TAGS, "gzip"))).contains("renamed-tag");
+        assertThat(body(perform(POSTS, "gzip"))).contains("renamed-tag");
+    }
+
+    private long latestPostId() {
+        return jdbc.queryForObject("SELECT id FROM posts ORDER BY published_at DESC NULLS LAST, id DESC LIMIT 1",
+                Long.class);
+    }
+
+    private MockHttpServletResponse perform(String uri, String acceptEncoding) throws Exception {
+        return mockMvc.perform(get(uri).header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+
+    /**
+     * Decode the body according to its {@code Content-Encoding}.
+     */
+    private static String body(MockHttpServletResponse response) throws IOException {
+        byte[] bytes = response.getContentAsByteArray();
+        String encoding = response.getHeader(HttpHeaders.CONTENT_ENCODING);
+        if (encoding == null) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        try (InputStream in = "gzip".equals(encoding)
+                ? new GZIPInputStream(new ByteArrayInputStream(bytes))
+                : new InflaterInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package de.ityreh.home.blog.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * A budget of zero statements puts every request that touches the database over budget.
+ */
+@SpringBootTest(properties = "blog.sql.statement-budget.max-statements=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlStatementBudgetFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void failsARequestOverBudgetBeforeItsResponseIsWritten() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tags")).andReturn();
+
+        assertThat(statements(result)).isPositive();
+        assertThat(result.getResponse().getStatus()).isEqualTo(500);
+        assertThat(result.getResolvedException())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageEndingWith("budget is 0");
+    }
+
+    @Test
+    void doesNotExposeTheCountByDefault() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tags")).andReturn();
+
+        assertThat(result.getResponse().getHeader(SqlStatementBudgetFilter.HEADER)).isNull();
+    }
+
+    private static int statements(MvcResult result) {
+        return (Integer) result.getRequest().getAttribute(SqlStatementBudgetFilter.COUNT_ATTRIBUTE);
+    }
+}